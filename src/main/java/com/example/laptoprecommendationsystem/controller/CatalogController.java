@@ -0,0 +1,32 @@
+package com.example.laptoprecommendationsystem.controller;
+
+import com.example.laptoprecommendationsystem.dto.ImportSummaryDTO;
+import com.example.laptoprecommendationsystem.service.ExcelDataLoaderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/catalog")
+public class CatalogController {
+
+    @Autowired
+    private ExcelDataLoaderService excelDataLoaderService;
+
+    /**
+     * Re-import the configured supplier feed.
+     * @param mode "delta" (default) writes only inserted, changed and removed rows; "full" replaces every row.
+     * @return The number of inserted, updated, deleted and unchanged laptops.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportSummaryDTO> importCatalog(@RequestParam(defaultValue = "delta") String mode) {
+        try {
+            return ResponseEntity.ok(excelDataLoaderService.importCatalog(mode));
+        } catch (IOException e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.example.laptoprecommendationsystem.controller;
 
+import com.example.laptoprecommendationsystem.dto.CursorPageDTO;
+import com.example.laptoprecommendationsystem.dto.FacetedRecommendationDTO;
+import com.example.laptoprecommendationsystem.dto.LaptopDTO;
+import com.example.laptoprecommendationsystem.dto.ScoredLaptopDTO;
 import com.example.laptoprecommendationsystem.model.Laptop;
+import com.example.laptoprecommendationsystem.model.UserPreferences;
 import com.example.laptoprecommendationsystem.service.LaptopService;
 import com.example.laptoprecommendationsystem.service.PageRankingService;
+import com.example.laptoprecommendationsystem.service.RecommendationScoringService;
+import com.example.laptoprecommendationsystem.util.SparseFieldset;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -13,17 +20,23 @@ import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/laptops")
 public class LaptopController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private PageRankingService pageRankingService;
 
 
     @Autowired
     private LaptopService laptopService;
+
+    @Autowired
+    private RecommendationScoringService recommendationScoringService;
     /**
      * Get recommended laptops based on user input preferences.
      * @param brand Preferred brand (e.g., MacBook, Dell, Lenovo)
@@ -34,10 +47,39 @@ public class LaptopController {
      * @param screenSize Preferred screen size (e.g., 13", 15", 17")
      * @param minPrice Minimum storage in GB
      * @param size Minimum RAM in GB
+     * @param fields Optional comma separated summary fields to return (e.g. "id,productName,price") instead of full laptops.
      * @return A list of recommended laptops based on the criteria.
      */
     @GetMapping("/recommend")
-    public Page<Laptop> getRecommendedLaptops(
+    public Page<?> getRecommendedLaptops(
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Integer screenSize,
+            @RequestParam(required = false) Integer storage,
+            @RequestParam(required = false) Integer ram,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields) {
+
+        Pageable pageable = PageRequest.of(page, size);
+
+        Page<Laptop> laptops = laptopService.getRecommendedLaptops(brand, minPrice, maxPrice, screenSize, storage, ram, pageable);
+        if (fields == null) {
+            return laptops;
+        }
+        SparseFieldset fieldset = SparseFieldset.parse(fields);
+        return laptops.map(laptop -> fieldset.apply(LaptopDTO.from(laptop)));
+    }
+
+
+    /**
+     * Get recommended laptops together with facet counts (brand, RAM, storage, screen size) for the whole result set.
+     * Takes the same parameters as {@link #getRecommendedLaptops}.
+     * @return The requested page and the facet counts used to render filter sidebars.
+     */
+    @GetMapping("/recommend/faceted")
+    public FacetedRecommendationDTO getRecommendedLaptopsWithFacets(
             @RequestParam(required = false) String brand,
             @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice,
@@ -49,13 +91,68 @@ public class LaptopController {
 
         Pageable pageable = PageRequest.of(page, size);
 
-        return laptopService.getRecommendedLaptops(brand, minPrice, maxPrice, screenSize, storage, ram, pageable);
+        return laptopService.getRecommendedLaptopsWithFacets(brand, minPrice, maxPrice, screenSize, storage, ram, pageable);
     }
 
+    /**
+     * Get hit, miss and eviction statistics of the recommend result cache.
+     * @return The cache statistics.
+     */
+    @GetMapping("/recommend/cache-stats")
+    public Map<String, Long> getRecommendCacheStats() {
+        return laptopService.getRecommendCacheStats();
+    }
 
+    /**
+     * Rank the catalog against a user's preferences.
+     * @param preferences Brand, usage type (e.g. gaming, office), performance, budget, memory, screen size and storage; all optional.
+     * @param k The number of laptops to return.
+     * @return The best K laptops with their scores, best first.
+     */
+    @PostMapping("/recommend/top")
+    public List<ScoredLaptopDTO> getTopRecommendations(@RequestBody UserPreferences preferences,
+                                                       @RequestParam(defaultValue = "10") int k) {
+        return recommendationScoringService.getTopRecommendations(preferences, k);
+    }
+
+    /**
+     * Get laptops ordered by price, one page at a time.
+     * @param order The sorting order ("asc" or "desc").
+     * @param page The page number (0-based index), ignored when a cursor is given.
+     * @param size The number of laptops per page.
+     * @param cursor The value of the X-Next-Cursor header of the previous page.
+     * @return A page of laptops; the X-Next-Cursor header is set when more pages follow.
+     */
     @GetMapping("/sorted-by-price")
-    public List<Laptop> getLaptopsSortedByPrice(@RequestParam String order) {
-        return laptopService.getAllLaptopsSortedByPrice(order);
+    public ResponseEntity<List<Laptop>> getLaptopsSortedByPrice(
+            @RequestParam(defaultValue = "asc") String order,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+        CursorPageDTO<Laptop> result = laptopService.getLaptopsSortedByPrice(order, page, size, cursor);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, result.getNextCursor());
+        }
+        return response.body(result.getItems());
+    }
+
+    /**
+     * Get laptops sorted by one or more keys.
+     * @param sortBy Comma separated keys (price, ram, storage, screenSize, brand), each optionally suffixed with ":asc" or ":desc".
+     * @param order Default direction for keys without a suffix.
+     * @param page The page number (0-based index).
+     * @param size The number of laptops per page.
+     * @return A page of sorted laptops.
+     */
+    @GetMapping("/sorted")
+    public Page<Laptop> getLaptopsSorted(
+            @RequestParam(defaultValue = "price") String sortBy,
+            @RequestParam(defaultValue = "asc") String order,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return laptopService.getLaptopsSorted(sortBy, order, PageRequest.of(page, size));
     }
 
 
@@ -63,16 +160,24 @@ public class LaptopController {
 
     // Endpoint to get search suggestions based on the query
     @GetMapping("/suggestions")
-    public List<Laptop> getLaptopSuggestions(@RequestParam String query,
-                                             @RequestParam(defaultValue = "0") int page,
-                                             @RequestParam(defaultValue = "5") int size) {
+    public List<?> getLaptopSuggestions(@RequestParam String query,
+                                        @RequestParam(defaultValue = "0") int page,
+                                        @RequestParam(defaultValue = "5") int size,
+                                        @RequestParam(required = false) String fields) {
         // Query is the search term, page is the page number, and size is the number of results per page
+        if (fields != null) {
+            return SparseFieldset.parse(fields).apply(laptopService.getSuggestionSummaries(query, page, size));
+        }
         return laptopService.getSuggestions(query, page, size);
     }
 
-    // API to search laptops based on a search term
+    // API to search laptops based on a search term; "fields" selects summary fields instead of full laptops
     @GetMapping("/search")
-    public ResponseEntity<List<Laptop>> searchLaptops(@RequestParam String searchTerm) {
+    public ResponseEntity<List<?>> searchLaptops(@RequestParam String searchTerm,
+                                                 @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return new ResponseEntity<>(SparseFieldset.parse(fields).apply(laptopService.searchLaptopSummaries(searchTerm)), HttpStatus.OK);
+        }
         List<Laptop> laptops = laptopService.searchLaptops(searchTerm);
         return new ResponseEntity<>(laptops, HttpStatus.OK);
     }
@@ -81,13 +186,38 @@ public class LaptopController {
      * Get paginated laptops.
      * @param page The page number (0-based index).
      * @param size The number of laptops per page.
+     * @param fields Optional comma separated summary fields to return instead of full laptops.
      * @return A page of laptops.
      */
     @GetMapping("/paginated")
-    public ResponseEntity<Page<Laptop>> getLaptopsPaginated(
+    public ResponseEntity<Page<?>> getLaptopsPaginated(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            SparseFieldset fieldset = SparseFieldset.parse(fields);
+            return ResponseEntity.ok(laptopService.getLaptopSummariesPaginated(page, size).map(fieldset::apply));
+        }
         Page<Laptop> laptopsPage = laptopService.getLaptopsPaginated(page, size);
         return ResponseEntity.ok(laptopsPage);
     }
+
+    /**
+     * Walk all laptops in price order with keyset pagination, without total counts.
+     * @param cursor The value of the X-Next-Cursor header of the previous page, omitted for the first page.
+     * @param size The number of laptops per page.
+     * @return A page of laptops; the X-Next-Cursor header is set when more pages follow.
+     */
+    @GetMapping("/paginated/cursor")
+    public ResponseEntity<List<Laptop>> getLaptopsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageDTO<Laptop> result = laptopService.getLaptopsByCursor(cursor, size);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, result.getNextCursor());
+        }
+        return response.body(result.getItems());
+    }
 }
@@ -1,9 +1,13 @@
 package com.example.laptoprecommendationsystem.controller;
 
+import com.example.laptoprecommendationsystem.dto.LaptopDTO;
+import com.example.laptoprecommendationsystem.dto.SuggestionDTO;
 import com.example.laptoprecommendationsystem.model.Laptop;
 import com.example.laptoprecommendationsystem.service.VocabularyService;
 import com.example.laptoprecommendationsystem.service.InvertedIndexService;
+import com.example.laptoprecommendationsystem.util.SparseFieldset;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -15,6 +19,8 @@ import java.util.Set;
 @RestController
 public class SearchController {
 
+    private static final String DID_YOU_MEAN_HEADER = "X-Did-You-Mean";
+
     @Autowired
     private VocabularyService vocabularyService;
 
@@ -30,8 +36,10 @@ public class SearchController {
     private static final String FILE_PATH = "src/main/resources/Products_Final.xlsx"; // Path to the file containing laptop data
 
     // Endpoint to handle user search and suggest closest match using vocabulary.txt (Edit Distance Only)
+    // When nothing matches, the closest vocabulary term is returned in the X-Did-You-Mean header
     @GetMapping("/searchLaptop")
-    public List<Laptop> searchLaptop(@RequestParam String searchTerm) {
+    public ResponseEntity<List<?>> searchLaptop(@RequestParam String searchTerm,
+                                                @RequestParam(required = false) String fields) {
         // Define the path to vocabulary.txt
         String vocabularyFilePath = "product_names_vocabulary.txt";
 
@@ -39,7 +47,24 @@ public class SearchController {
         int maxEditDistance = 3;
 
         // Fetch the closest matches as full Laptop objects
-        return vocabularyService.searchAndSuggestClosestMatches(searchTerm);
+        List<Laptop> laptops = vocabularyService.searchAndSuggestClosestMatches(searchTerm);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        // A correctly spelled term with no products needs no correction
+        if (laptops.isEmpty() && !vocabularyService.isKnownWord(searchTerm)) {
+            List<SuggestionDTO> suggestions = vocabularyService.suggest(searchTerm, null, 1);
+            if (!suggestions.isEmpty()) {
+                response.header(DID_YOU_MEAN_HEADER, suggestions.get(0).getTerm());
+            }
+        }
+        if (fields == null) {
+            return response.body(laptops);
+        }
+        // Only the requested summary fields are serialized
+        List<LaptopDTO> summaries = new ArrayList<>(laptops.size());
+        for (Laptop laptop : laptops) {
+            summaries.add(LaptopDTO.from(laptop));
+        }
+        return response.body(SparseFieldset.parse(fields).apply(summaries));
     }
 
     /**
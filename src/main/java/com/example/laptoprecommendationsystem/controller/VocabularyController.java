@@ -1,5 +1,6 @@
 package com.example.laptoprecommendationsystem.controller;
 
+import com.example.laptoprecommendationsystem.dto.SuggestionDTO;
 import com.example.laptoprecommendationsystem.service.VocabularyService;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +9,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -30,6 +32,34 @@ public class VocabularyController {
         return vocabularyBuilderService.getWordsContaining(word);
     }
 
+    /**
+     * Suggest vocabulary terms within an edit distance of a word ("did you mean").
+     * @param word The (possibly misspelled) word.
+     * @param maxDistance The largest edit distance; chosen from the word's length if omitted.
+     * @param limit The maximum number of suggestions.
+     * @return The suggestions ranked by distance, then frequency.
+     */
+    @GetMapping("/suggest")
+    public List<SuggestionDTO> suggest(@RequestParam String word,
+                                       @RequestParam(required = false) Integer maxDistance,
+                                       @RequestParam(defaultValue = "10") int limit) {
+        return vocabularyBuilderService.suggest(word, maxDistance, limit);
+    }
+
+    /**
+     * Complete a typed prefix to the most frequent vocabulary terms, tolerating typos.
+     * @param prefix The typed prefix, e.g. "lenvo thin".
+     * @param maxDistance The largest edit distance between the prefix and the start of a completion.
+     * @param limit The maximum number of completions.
+     * @return The completions ranked by frequency.
+     */
+    @GetMapping("/complete")
+    public List<SuggestionDTO> complete(@RequestParam String prefix,
+                                        @RequestParam(defaultValue = "1") int maxDistance,
+                                        @RequestParam(defaultValue = "10") int limit) {
+        return vocabularyBuilderService.complete(prefix, maxDistance, limit);
+    }
+
     @GetMapping("/buildProductNameVocabulary")
     public Set<String> getProductNameVocabulary() {
         String inputFilePath = "src/main/resources/products.csv"; // Your file path
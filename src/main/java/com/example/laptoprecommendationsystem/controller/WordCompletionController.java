@@ -34,9 +34,10 @@ public class WordCompletionController {
                 }
             }
 
-            // Build vocabulary in the AVL tree
-            wordCompletionService.buildVocabulary(vocabulary);
-            return "Vocabulary built successfully from file: " + filePath;
+            // Build a new AVL tree and swap it in
+            Map<String, Long> stats = wordCompletionService.buildVocabulary(vocabulary);
+            return "Vocabulary built successfully from file: " + filePath + " (" + stats.get("words") + " words in "
+                    + stats.get("buildMillis") + " ms)";
         } catch (IOException e) {
             e.printStackTrace();
             return "An error occurred while reading the file: " + e.getMessage();
@@ -45,6 +46,12 @@ public class WordCompletionController {
 
 
 
+    // API to get the size and build time of the current completion tree
+    @GetMapping("/stats")
+    public Map<String, Long> getStats() {
+        return wordCompletionService.getStats();
+    }
+
     // API to get word completions
     @GetMapping("/suggestions")
     public List<String> getSuggestions(@RequestParam String prefix, @RequestParam int topK) {
@@ -0,0 +1,34 @@
+package com.example.laptoprecommendationsystem.dto;
+
+import com.example.laptoprecommendationsystem.model.Laptop;
+import org.springframework.data.domain.Page;
+
+import java.util.Map;
+
+public class FacetedRecommendationDTO {
+
+    private Page<Laptop> laptops;
+    private Map<String, Map<String, Integer>> facets; // Facet name -> facet value -> matching laptops
+
+    public FacetedRecommendationDTO(Page<Laptop> laptops, Map<String, Map<String, Integer>> facets) {
+        this.laptops = laptops;
+        this.facets = facets;
+    }
+
+    // Getters and Setters
+    public Page<Laptop> getLaptops() {
+        return laptops;
+    }
+
+    public void setLaptops(Page<Laptop> laptops) {
+        this.laptops = laptops;
+    }
+
+    public Map<String, Map<String, Integer>> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(Map<String, Map<String, Integer>> facets) {
+        this.facets = facets;
+    }
+}
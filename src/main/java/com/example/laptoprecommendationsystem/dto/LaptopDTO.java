@@ -1,4 +1,169 @@
 package com.example.laptoprecommendationsystem.dto;
 
+import com.example.laptoprecommendationsystem.model.Laptop;
+
+/**
+ * Summary of a laptop for list responses, without the large image and file path columns.
+ * Repository queries select straight into this class, so those columns are never read from the database.
+ */
 public class LaptopDTO {
+
+    private Long id;
+    private String brandName;
+    private String productName;
+    private double price;
+    private String processor;
+    private String graphics;
+    private String display;
+    private String memory;
+    private String storage;
+    private Integer ramGb;
+    private Integer storageGb;
+    private Double screenInches;
+    private String cpuFamily;
+    private Integer cpuCores;
+
+    public LaptopDTO() {
+    }
+
+    public LaptopDTO(Long id, String brandName, String productName, double price, String processor, String graphics, String display, String memory, String storage, Integer ramGb, Integer storageGb, Double screenInches, String cpuFamily, Integer cpuCores) {
+        this.id = id;
+        this.brandName = brandName;
+        this.productName = productName;
+        this.price = price;
+        this.processor = processor;
+        this.graphics = graphics;
+        this.display = display;
+        this.memory = memory;
+        this.storage = storage;
+        this.ramGb = ramGb;
+        this.storageGb = storageGb;
+        this.screenInches = screenInches;
+        this.cpuFamily = cpuFamily;
+        this.cpuCores = cpuCores;
+    }
+
+    /**
+     * Summarizes an already loaded laptop.
+     * @param laptop The laptop entity.
+     * @return Its summary.
+     */
+    public static LaptopDTO from(Laptop laptop) {
+        return new LaptopDTO(laptop.getId(), laptop.getBrandName(), laptop.getProductName(), laptop.getPrice(),
+                laptop.getProcessor(), laptop.getGraphics(), laptop.getDisplay(), laptop.getMemory(), laptop.getStorage(),
+                laptop.getRamGb(), laptop.getStorageGb(), laptop.getScreenInches(), laptop.getCpuFamily(), laptop.getCpuCores());
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getBrandName() {
+        return brandName;
+    }
+
+    public void setBrandName(String brandName) {
+        this.brandName = brandName;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public String getProcessor() {
+        return processor;
+    }
+
+    public void setProcessor(String processor) {
+        this.processor = processor;
+    }
+
+    public String getGraphics() {
+        return graphics;
+    }
+
+    public void setGraphics(String graphics) {
+        this.graphics = graphics;
+    }
+
+    public String getDisplay() {
+        return display;
+    }
+
+    public void setDisplay(String display) {
+        this.display = display;
+    }
+
+    public String getMemory() {
+        return memory;
+    }
+
+    public void setMemory(String memory) {
+        this.memory = memory;
+    }
+
+    public String getStorage() {
+        return storage;
+    }
+
+    public void setStorage(String storage) {
+        this.storage = storage;
+    }
+
+    public Integer getRamGb() {
+        return ramGb;
+    }
+
+    public void setRamGb(Integer ramGb) {
+        this.ramGb = ramGb;
+    }
+
+    public Integer getStorageGb() {
+        return storageGb;
+    }
+
+    public void setStorageGb(Integer storageGb) {
+        this.storageGb = storageGb;
+    }
+
+    public Double getScreenInches() {
+        return screenInches;
+    }
+
+    public void setScreenInches(Double screenInches) {
+        this.screenInches = screenInches;
+    }
+
+    public String getCpuFamily() {
+        return cpuFamily;
+    }
+
+    public void setCpuFamily(String cpuFamily) {
+        this.cpuFamily = cpuFamily;
+    }
+
+    public Integer getCpuCores() {
+        return cpuCores;
+    }
+
+    public void setCpuCores(Integer cpuCores) {
+        this.cpuCores = cpuCores;
+    }
 }
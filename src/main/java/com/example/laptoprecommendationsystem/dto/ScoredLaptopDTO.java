@@ -0,0 +1,31 @@
+package com.example.laptoprecommendationsystem.dto;
+
+import com.example.laptoprecommendationsystem.model.Laptop;
+
+public class ScoredLaptopDTO {
+
+    private Laptop laptop;
+    private double score;
+
+    public ScoredLaptopDTO(Laptop laptop, double score) {
+        this.laptop = laptop;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public Laptop getLaptop() {
+        return laptop;
+    }
+
+    public void setLaptop(Laptop laptop) {
+        this.laptop = laptop;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.laptoprecommendationsystem.dto;
+
+/**
+ * A vocabulary term suggested for a (possibly misspelled) search term.
+ */
+public class SuggestionDTO {
+
+    private String term;
+    private int distance;
+    private long frequency;
+
+    public SuggestionDTO() {
+    }
+
+    public SuggestionDTO(String term, int distance, long frequency) {
+        this.term = term;
+        this.distance = distance;
+        this.frequency = frequency;
+    }
+
+    // Getters and Setters
+    public String getTerm() {
+        return term;
+    }
+
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    public int getDistance() {
+        return distance;
+    }
+
+    public void setDistance(int distance) {
+        this.distance = distance;
+    }
+
+    public long getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(long frequency) {
+        this.frequency = frequency;
+    }
+}
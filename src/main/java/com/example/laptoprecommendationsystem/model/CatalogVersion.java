@@ -0,0 +1,35 @@
+package com.example.laptoprecommendationsystem.model;
+
+import jakarta.persistence.*;
+
+// Single-row change marker for the laptop table, bumped after every write to it; the catalog snapshot file
+// records the value it was built at, so startup can tell whether the file is stale without reading the laptops
+@Entity
+public class CatalogVersion {
+
+    // The only row
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long version;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -7,6 +7,14 @@ import lombok.Setter;
 @Setter
 @Getter
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_laptop_price_id", columnList = "price, id"),
+        @Index(name = "idx_laptop_brand_name", columnList = "brandName"),
+        @Index(name = "idx_laptop_ram_gb", columnList = "ramGb"),
+        @Index(name = "idx_laptop_storage_gb", columnList = "storageGb"),
+        @Index(name = "idx_laptop_screen_inches", columnList = "screenInches"),
+        @Index(name = "idx_laptop_cpu_family", columnList = "cpuFamily")
+})
 public class Laptop {
 
     @Id
@@ -37,6 +45,27 @@ public class Laptop {
     private String filepath;
     @Column
     private Integer rankScore;
+    // Numeric specs parsed from the free-text columns at ingest, used for filtering
+    @Column
+    private Integer ramGb;
+    @Column
+    private Integer storageGb;
+    @Column
+    private Double screenInches;
+    @Column
+    private Integer resolutionWidth;
+    @Column
+    private Integer resolutionHeight;
+    @Column
+    private String cpuFamily;
+    @Column
+    private Integer cpuCores;
+    // SpecParser.VERSION the typed columns were parsed with; older rows are re-parsed at startup
+    @Column
+    private Integer specVersion;
+    // SHA-256 of the feed columns, compared by delta imports to find changed rows
+    @Column(length = 64)
+    private String contentHash;
 
     public Long getId() {
         return id;
@@ -141,4 +170,76 @@ public class Laptop {
     public void setRankScore(Integer rankScore) {
         this.rankScore = rankScore;
     }
+
+    public Integer getRamGb() {
+        return ramGb;
+    }
+
+    public void setRamGb(Integer ramGb) {
+        this.ramGb = ramGb;
+    }
+
+    public Integer getStorageGb() {
+        return storageGb;
+    }
+
+    public void setStorageGb(Integer storageGb) {
+        this.storageGb = storageGb;
+    }
+
+    public Double getScreenInches() {
+        return screenInches;
+    }
+
+    public void setScreenInches(Double screenInches) {
+        this.screenInches = screenInches;
+    }
+
+    public Integer getResolutionWidth() {
+        return resolutionWidth;
+    }
+
+    public void setResolutionWidth(Integer resolutionWidth) {
+        this.resolutionWidth = resolutionWidth;
+    }
+
+    public Integer getResolutionHeight() {
+        return resolutionHeight;
+    }
+
+    public void setResolutionHeight(Integer resolutionHeight) {
+        this.resolutionHeight = resolutionHeight;
+    }
+
+    public String getCpuFamily() {
+        return cpuFamily;
+    }
+
+    public void setCpuFamily(String cpuFamily) {
+        this.cpuFamily = cpuFamily;
+    }
+
+    public Integer getCpuCores() {
+        return cpuCores;
+    }
+
+    public void setCpuCores(Integer cpuCores) {
+        this.cpuCores = cpuCores;
+    }
+
+    public Integer getSpecVersion() {
+        return specVersion;
+    }
+
+    public void setSpecVersion(Integer specVersion) {
+        this.specVersion = specVersion;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
 }
@@ -16,6 +16,12 @@ public class SearchFrequency {
     @Column(nullable = false)
     private int searchCount;
 
+    // Search count decayed with the completion half-life up to liveScoreTime; null on rows from before it was kept
+    private Double liveScore;
+
+    // Epoch milliseconds of the last change to liveScore
+    private Long liveScoreTime;
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -40,4 +46,20 @@ public class SearchFrequency {
     public void setSearchCount(int searchCount) {
         this.searchCount = searchCount;
     }
+
+    public Double getLiveScore() {
+        return liveScore;
+    }
+
+    public void setLiveScore(Double liveScore) {
+        this.liveScore = liveScore;
+    }
+
+    public Long getLiveScoreTime() {
+        return liveScoreTime;
+    }
+
+    public void setLiveScoreTime(Long liveScoreTime) {
+        this.liveScoreTime = liveScoreTime;
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.laptoprecommendationsystem.repository;
+
+import com.example.laptoprecommendationsystem.model.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Long> {
+
+    // Atomic in the database, so concurrent writers never lose a bump; 0 until the row exists
+    @Transactional
+    @Modifying
+    @Query("UPDATE CatalogVersion c SET c.version = c.version + 1 WHERE c.id = " + CatalogVersion.ID)
+    int increment();
+}
@@ -1,14 +1,25 @@
 package com.example.laptoprecommendationsystem.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.example.laptoprecommendationsystem.dto.LaptopDTO;
 import com.example.laptoprecommendationsystem.model.Laptop;
 import java.util.List;
 
 @Repository
-public interface LaptopRepository extends JpaRepository<Laptop, Long> {
+public interface LaptopRepository extends JpaRepository<Laptop, Long>, JpaSpecificationExecutor<Laptop> {
+
+    // Selects list summaries directly, so the image and file path columns are never fetched
+    String SUMMARY_SELECT = "SELECT new com.example.laptoprecommendationsystem.dto.LaptopDTO(l.id, l.brandName, l.productName, l.price, "
+            + "l.processor, l.graphics, l.display, l.memory, l.storage, l.ramGb, l.storageGb, l.screenInches, l.cpuFamily, l.cpuCores) FROM Laptop l";
 
     // Use Sort to dynamically order results
     List<Laptop> findAll(Sort sort);
@@ -22,5 +33,26 @@ public interface LaptopRepository extends JpaRepository<Laptop, Long> {
     // Query to find laptops by product name or brand name containing the search term
     List<Laptop> findByProductNameContainingIgnoreCaseOrBrandNameContainingIgnoreCase(String productName, String brandName);
 
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(l) FROM Laptop l")
+    Page<LaptopDTO> findAllSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE LOWER(l.brandName) LIKE LOWER(CONCAT('%', :query, '%'))")
+    List<LaptopDTO> findSummariesByBrandNameContaining(@Param("query") String query, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE LOWER(l.productName) LIKE LOWER(CONCAT('%', :term, '%'))"
+            + " OR LOWER(l.brandName) LIKE LOWER(CONCAT('%', :term, '%'))")
+    List<LaptopDTO> searchSummaries(@Param("term") String term);
+
+    // Rows whose typed spec columns were never parsed, or were parsed by older SpecParser rules
+    List<Laptop> findBySpecVersionIsNullOrSpecVersionLessThan(Integer specVersion);
+
+    // Keyset pagination over (price, id): no OFFSET and no count query, so every page costs the same
+    @Query("SELECT l FROM Laptop l ORDER BY l.price ASC, l.id ASC")
+    List<Laptop> findFirstPageByPrice(Limit limit);
+
+    // Expanded form of (price, id) > (:price, :id), which JPQL has no row-value syntax for
+    @Query("SELECT l FROM Laptop l WHERE l.price > :price OR (l.price = :price AND l.id > :id) ORDER BY l.price ASC, l.id ASC")
+    List<Laptop> findNextPageByPrice(@Param("price") double price, @Param("id") long id, Limit limit);
+
 
 }
@@ -0,0 +1,70 @@
+package com.example.laptoprecommendationsystem.repository;
+
+import com.example.laptoprecommendationsystem.model.Laptop;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA specifications that run the recommend filters in the database against the typed spec columns.
+ */
+public final class LaptopSpecifications {
+
+    // Escape character for LIKE patterns; not a backslash, which MySQL would also treat as a string literal escape
+    private static final char LIKE_ESCAPE = '!';
+
+    private LaptopSpecifications() {
+    }
+
+    /**
+     * Build a specification for the recommend criteria. Null criteria are ignored.
+     * @param brand Brand name substring (case-insensitive)
+     * @param minBudget Minimum price
+     * @param maxBudget Maximum price
+     * @param screenSize Screen size in whole inches (15 matches 15.0" up to 15.9")
+     * @param minStorage Minimum storage in GB
+     * @param minRAM Minimum RAM in GB
+     * @return The combined specification.
+     */
+    public static Specification<Laptop> recommended(String brand, Double minBudget, Double maxBudget, Integer screenSize, Integer minStorage, Integer minRAM) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (brand != null && !brand.isEmpty()) {
+                predicates.add(cb.like(cb.lower(root.get("brandName")), "%" + escapeLike(brand.toLowerCase()) + "%", LIKE_ESCAPE));
+            }
+            if (minBudget != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), minBudget));
+            }
+            if (maxBudget != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), maxBudget));
+            }
+            if (screenSize != null && screenSize > 0) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("screenInches"), screenSize.doubleValue()));
+                predicates.add(cb.lessThan(root.get("screenInches"), screenSize + 1.0));
+            }
+            if (minStorage != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("storageGb"), minStorage));
+            }
+            if (minRAM != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("ramGb"), minRAM));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Makes %, _ and the escape character in user input match literally
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char character : value.toCharArray()) {
+            if (character == '%' || character == '_' || character == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(character);
+        }
+        return escaped.toString();
+    }
+}
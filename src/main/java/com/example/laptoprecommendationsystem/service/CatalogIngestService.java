@@ -0,0 +1,412 @@
+package com.example.laptoprecommendationsystem.service;
+
+import com.example.laptoprecommendationsystem.dto.ImportSummaryDTO;
+import com.example.laptoprecommendationsystem.model.Laptop;
+import com.example.laptoprecommendationsystem.util.CsvRowReader;
+import com.example.laptoprecommendationsystem.util.LaptopFingerprint;
+import com.example.laptoprecommendationsystem.util.LaptopRowMapper;
+import com.example.laptoprecommendationsystem.util.StreamingXlsxReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bulk loads supplier feeds (Excel or CSV) into the laptop table.
+ * Loading runs as a three stage pipeline connected by bounded queues, so a slow stage throttles the ones before it:
+ * the calling thread reads rows, a pool of workers maps and normalizes them, and a single writer inserts them in
+ * JDBC batches. Batching bypasses Hibernate, which cannot batch inserts of IDENTITY ids.
+ * A delta import runs the same pipeline but diffs the feed against the stored catalog, so only changed rows are written.
+ */
+@Service
+public class CatalogIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogIngestService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO laptop (brand_name, product_name, price, image, os, processor, graphics, "
+            + "display, memory, storage, file_path, ram_gb, storage_gb, screen_inches, resolution_width, resolution_height, "
+            + "cpu_family, cpu_cores, spec_version, content_hash) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE laptop SET brand_name = ?, product_name = ?, price = ?, image = ?, os = ?, "
+            + "processor = ?, graphics = ?, display = ?, memory = ?, storage = ?, file_path = ?, ram_gb = ?, storage_gb = ?, "
+            + "screen_inches = ?, resolution_width = ?, resolution_height = ?, cpu_family = ?, cpu_cores = ?, spec_version = ?, "
+            + "content_hash = ? WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM laptop WHERE id = ?";
+    private static final String FINGERPRINT_SQL = "SELECT id, brand_name, product_name, content_hash FROM laptop";
+
+    // End-of-stream markers, compared by identity
+    private static final List<String> END_OF_ROWS = new ArrayList<>(0);
+    private static final Laptop END_OF_LAPTOPS = new Laptop();
+
+    /**
+     * Source of raw feed rows, e.g. an Excel sheet or a CSV file.
+     */
+    @FunctionalInterface
+    public interface RowSource {
+        void read(StreamingXlsxReader.RowConsumer consumer) throws IOException;
+    }
+
+    /**
+     * Final pipeline stage; runs on the single writer thread.
+     */
+    private interface LaptopSink {
+        default void start() {
+        }
+
+        void accept(Laptop laptop);
+
+        void finish();
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Value("${laptop.ingest.workers:4}")
+    private int workers;
+
+    @Value("${laptop.ingest.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${laptop.ingest.queue-capacity:4096}")
+    private int queueCapacity;
+
+    @Value("${laptop.ingest.csv-charset:ISO-8859-1}")
+    private String csvCharset;
+
+    /**
+     * Bulk loads a feed file; ".csv" files are read as CSV, anything else as .xlsx.
+     * @param filePath The path of the feed.
+     * @return The number of inserted laptops.
+     * @throws IOException If the file cannot be read or the insert fails.
+     */
+    public int ingestFile(String filePath) throws IOException {
+        return ingest(sourceOf(filePath));
+    }
+
+    /**
+     * Bulk loads the rows of a feed. The first row must be the header.
+     * @param source The feed rows.
+     * @return The number of inserted laptops.
+     * @throws IOException If the feed cannot be read or the insert fails.
+     */
+    public int ingest(RowSource source) throws IOException {
+        long start = System.nanoTime();
+        Batch inserts = new Batch(INSERT_SQL, CatalogIngestService::bindLaptop);
+        run(source, new LaptopSink() {
+            @Override
+            public void accept(Laptop laptop) {
+                inserts.add(laptop);
+            }
+
+            @Override
+            public void finish() {
+                inserts.flush();
+            }
+        });
+        logger.info("Bulk ingest inserted {} laptops in {} ms", inserts.written, (System.nanoTime() - start) / 1_000_000);
+        return inserts.written;
+    }
+
+    /**
+     * Replaces the whole catalog with the contents of a feed file. Existing rows are deleted in the same transaction,
+     * so readers never see an empty table if the load fails.
+     * @param filePath The path of the feed.
+     * @return What changed.
+     * @throws IOException If the file cannot be read or the load fails.
+     */
+    public ImportSummaryDTO replaceAll(String filePath) throws IOException {
+        long start = System.nanoTime();
+        Batch inserts = new Batch(INSERT_SQL, CatalogIngestService::bindLaptop);
+        int[] deleted = new int[1];
+        run(sourceOf(filePath), new LaptopSink() {
+            @Override
+            public void start() {
+                deleted[0] = jdbcTemplate.update("DELETE FROM laptop");
+            }
+
+            @Override
+            public void accept(Laptop laptop) {
+                inserts.add(laptop);
+            }
+
+            @Override
+            public void finish() {
+                inserts.flush();
+            }
+        });
+        ImportSummaryDTO summary = new ImportSummaryDTO("full", inserts.written, 0, deleted[0], 0, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Full import: {} deleted, {} inserted in {} ms", summary.getDeleted(), summary.getInserted(), summary.getDurationMs());
+        return summary;
+    }
+
+    /**
+     * Brings the catalog in line with a feed file, writing only what changed.
+     * Rows are matched on brand plus product name and compared by content hash: new rows are inserted, changed rows
+     * updated in place (keeping their ids), and stored rows missing from the feed deleted. Duplicate keys are matched
+     * pairwise.
+     * @param filePath The path of the feed.
+     * @return What changed.
+     * @throws IOException If the file cannot be read or the import fails.
+     */
+    public ImportSummaryDTO importDelta(String filePath) throws IOException {
+        ImportSummaryDTO summary = importDelta(sourceOf(filePath));
+        logger.info("Delta import: {} inserted, {} updated, {} deleted, {} unchanged in {} ms", summary.getInserted(),
+                summary.getUpdated(), summary.getDeleted(), summary.getUnchanged(), summary.getDurationMs());
+        return summary;
+    }
+
+    /**
+     * Brings the catalog in line with the rows of a feed; see {@link #importDelta(String)}.
+     * @param source The feed rows.
+     * @return What changed.
+     * @throws IOException If the feed cannot be read or the import fails.
+     */
+    public ImportSummaryDTO importDelta(RowSource source) throws IOException {
+        long start = System.nanoTime();
+        // Stored ids and hashes by natural key; a queue per key so duplicate rows are matched one to one
+        Map<String, Deque<Long>> storedIds = new HashMap<>();
+        Map<Long, String> storedHashes = new HashMap<>();
+        jdbcTemplate.query(FINGERPRINT_SQL, rs -> {
+            long id = rs.getLong(1);
+            storedIds.computeIfAbsent(LaptopFingerprint.naturalKey(rs.getString(2), rs.getString(3)), key -> new ArrayDeque<>())
+                    .add(id);
+            storedHashes.put(id, rs.getString(4));
+        });
+
+        Batch inserts = new Batch(INSERT_SQL, CatalogIngestService::bindLaptop);
+        Batch updates = new Batch(UPDATE_SQL, (ps, laptop) -> {
+            bindLaptop(ps, laptop);
+            ps.setLong(21, laptop.getId());
+        });
+        int[] unchanged = new int[1];
+        List<Long> removed = new ArrayList<>();
+
+        run(source, new LaptopSink() {
+            @Override
+            public void accept(Laptop laptop) {
+                Deque<Long> candidates = storedIds.get(LaptopFingerprint.naturalKey(laptop.getBrandName(), laptop.getProductName()));
+                Long match = candidates != null ? candidates.poll() : null;
+                if (match == null) {
+                    inserts.add(laptop);
+                } else if (laptop.getContentHash().equals(storedHashes.get(match))) {
+                    unchanged[0]++;
+                } else {
+                    laptop.setId(match);
+                    updates.add(laptop);
+                }
+            }
+
+            @Override
+            public void finish() {
+                inserts.flush();
+                updates.flush();
+                // Whatever was not matched by a feed row is gone from the feed
+                for (Deque<Long> ids : storedIds.values()) {
+                    removed.addAll(ids);
+                }
+                for (int from = 0; from < removed.size(); from += batchSize) {
+                    List<Long> batch = removed.subList(from, Math.min(removed.size(), from + batchSize));
+                    jdbcTemplate.batchUpdate(DELETE_SQL, batch, batch.size(), (ps, id) -> ps.setLong(1, id));
+                }
+            }
+        });
+
+        return new ImportSummaryDTO("delta", inserts.written, updates.written, removed.size(), unchanged[0],
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private RowSource sourceOf(String filePath) {
+        if (filePath.toLowerCase().endsWith(".csv")) {
+            Charset charset = Charset.forName(csvCharset);
+            return consumer -> CsvRowReader.read(filePath, charset, consumer);
+        }
+        return consumer -> StreamingXlsxReader.read(filePath, consumer);
+    }
+
+    // Runs the reader, mapper and writer stages until the feed is exhausted; all writes form one transaction
+    private void run(RowSource source, LaptopSink sink) throws IOException {
+        BlockingQueue<List<String>> rows = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Laptop> laptops = new ArrayBlockingQueue<>(queueCapacity);
+        // Set from the header row before the first data row is queued, so the queue hand-off publishes it to the workers
+        AtomicReference<LaptopRowMapper> mapper = new AtomicReference<>();
+        AtomicInteger runningWorkers = new AtomicInteger(workers);
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers + 1);
+        try {
+            // The transaction is bound to the writer thread, which issues every statement
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            Future<?> writer = executor.submit(() -> transaction.execute(status -> {
+                drain(laptops, sink);
+                // Committed or rolled back together with the rows, so the snapshot file is never trusted past a change
+                catalogService.bumpStoredVersion();
+                return null;
+            }));
+            for (int i = 0; i < workers; i++) {
+                executor.submit(() -> {
+                    mapRows(rows, laptops, mapper);
+                    // The last worker to finish tells the writer that no more laptops will follow
+                    if (runningWorkers.decrementAndGet() == 0) {
+                        laptops.put(END_OF_LAPTOPS);
+                    }
+                    return null;
+                });
+            }
+
+            // Stage 1: read on the calling thread; the header row configures the mapper
+            try {
+                source.read((rowIndex, cells) -> {
+                    if (mapper.get() == null) {
+                        mapper.set(LaptopRowMapper.fromHeader(cells));
+                        return;
+                    }
+                    offer(rows, cells, writer);
+                });
+                for (int i = 0; i < workers; i++) {
+                    offer(rows, END_OF_ROWS, writer);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unsupported feed: " + e.getMessage(), e);
+            } catch (IllegalStateException e) {
+                // The writer failed; its own exception is reported below
+                if (!writer.isDone()) {
+                    throw e;
+                }
+            }
+
+            writer.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Bulk ingest failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Bulk ingest interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Blocks while the queue is full, but gives up if the writer has already stopped
+    private static void offer(BlockingQueue<List<String>> rows, List<String> cells, Future<?> writer) {
+        try {
+            while (!rows.offer(cells, 100, TimeUnit.MILLISECONDS)) {
+                if (writer.isDone()) {
+                    throw new IllegalStateException("Bulk ingest writer stopped before all rows were read");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bulk ingest interrupted", e);
+        }
+    }
+
+    // Stage 2: map and normalize rows
+    private void mapRows(BlockingQueue<List<String>> rows, BlockingQueue<Laptop> laptops, AtomicReference<LaptopRowMapper> mapper) throws InterruptedException {
+        while (true) {
+            List<String> cells = rows.take();
+            if (cells == END_OF_ROWS) {
+                return;
+            }
+            try {
+                Laptop laptop = mapper.get().map(cells);
+                if (laptop != null) {
+                    laptops.put(laptop);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Skipping unreadable row: {}", cells, e);
+            }
+        }
+    }
+
+    // Stage 3: hand laptops to the sink, which writes them in JDBC batches
+    private void drain(BlockingQueue<Laptop> laptops, LaptopSink sink) {
+        sink.start();
+        while (true) {
+            Laptop laptop;
+            try {
+                laptop = laptops.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Bulk ingest interrupted", e);
+            }
+            if (laptop == END_OF_LAPTOPS) {
+                break;
+            }
+            sink.accept(laptop);
+        }
+        sink.finish();
+    }
+
+    static void bindLaptop(PreparedStatement ps, Laptop laptop) throws SQLException {
+        ps.setString(1, laptop.getBrandName());
+        ps.setString(2, laptop.getProductName());
+        ps.setDouble(3, laptop.getPrice());
+        ps.setString(4, laptop.getImage());
+        ps.setString(5, laptop.getOs());
+        ps.setString(6, laptop.getProcessor());
+        ps.setString(7, laptop.getGraphics());
+        ps.setString(8, laptop.getDisplay());
+        ps.setString(9, laptop.getMemory());
+        ps.setString(10, laptop.getStorage());
+        ps.setString(11, laptop.getFilepath());
+        ps.setObject(12, laptop.getRamGb(), Types.INTEGER);
+        ps.setObject(13, laptop.getStorageGb(), Types.INTEGER);
+        ps.setObject(14, laptop.getScreenInches(), Types.DOUBLE);
+        ps.setObject(15, laptop.getResolutionWidth(), Types.INTEGER);
+        ps.setObject(16, laptop.getResolutionHeight(), Types.INTEGER);
+        ps.setString(17, laptop.getCpuFamily());
+        ps.setObject(18, laptop.getCpuCores(), Types.INTEGER);
+        ps.setObject(19, laptop.getSpecVersion(), Types.INTEGER);
+        ps.setString(20, laptop.getContentHash());
+    }
+
+    /**
+     * Buffers laptops for one statement and executes them as a JDBC batch (a multi-row statement on MySQL with
+     * rewriteBatchedStatements) whenever the buffer is full.
+     */
+    private final class Batch {
+        private final String sql;
+        private final ParameterizedPreparedStatementSetter<Laptop> binder;
+        private final List<Laptop> pending = new ArrayList<>();
+        private int written;
+
+        Batch(String sql, ParameterizedPreparedStatementSetter<Laptop> binder) {
+            this.sql = sql;
+            this.binder = binder;
+        }
+
+        void add(Laptop laptop) {
+            pending.add(laptop);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!pending.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, pending, pending.size(), binder);
+                written += pending.size();
+                pending.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.laptoprecommendationsystem.service;
+
+import com.example.laptoprecommendationsystem.model.CatalogVersion;
+import com.example.laptoprecommendationsystem.model.Laptop;
+import com.example.laptoprecommendationsystem.repository.CatalogVersionRepository;
+import com.example.laptoprecommendationsystem.repository.LaptopRepository;
+import com.example.laptoprecommendationsystem.util.CatalogSnapshot;
+import com.example.laptoprecommendationsystem.util.CatalogSnapshotFile;
+import com.example.laptoprecommendationsystem.util.PriceIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Owns the in-memory catalog snapshot and price index used by the read paths.
+ * Readers always see a complete snapshot; writers publish a new one with a single atomic swap. Writers (refresh,
+ * loading the snapshot file and single-laptop saves and deletes) run one at a time on this service's monitor, so a
+ * save cannot land between a refresh reading the table and publishing what it read.
+ */
+@Service
+public class CatalogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogService.class);
+
+    @Autowired
+    private LaptopRepository laptopRepository;
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+    private volatile PriceIndex priceIndex;
+    // Bumped on every catalog change so caches over the catalog can tell when they are stale
+    private final AtomicLong version = new AtomicLong();
+
+    // Indexes derived from the snapshot, rebuilt on one background thread after every change
+    private final List<Consumer<CatalogSnapshot>> snapshotListeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService indexBuilder = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "catalog-index-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Set while a rebuild is queued but has not started, so a burst of changes leads to one rebuild
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    // Binary image of the catalog used for fast startup; empty to disable
+    @Value("${laptop.catalog.snapshot-file:}")
+    private String snapshotFile;
+
+    /**
+     * Get the current catalog snapshot, loading it from the database on first use.
+     * @return The current snapshot.
+     */
+    public CatalogSnapshot getSnapshot() {
+        CatalogSnapshot current = snapshot.get();
+        return current != null ? current : loadIfEmpty();
+    }
+
+    // Readers that race on first use load the catalog once
+    private synchronized CatalogSnapshot loadIfEmpty() {
+        CatalogSnapshot current = snapshot.get();
+        return current != null ? current : refresh();
+    }
+
+    /**
+     * Get the catalog version, which increases on every refresh, add, update and delete.
+     * @return The current catalog version.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Get the price-ordered index, loading the catalog from the database on first use.
+     * @return The price index.
+     */
+    public PriceIndex getPriceIndex() {
+        PriceIndex current = priceIndex;
+        if (current == null) {
+            loadIfEmpty();
+            current = priceIndex;
+        }
+        return current;
+    }
+
+    /**
+     * Register an index to rebuild whenever a new snapshot is published. The listener runs on a background thread
+     * with the latest snapshot, so readers keep using the previous index until the new one is ready; changes made
+     * while a rebuild is queued are folded into it.
+     * @param listener Builds and publishes the index for a snapshot.
+     */
+    public void addSnapshotListener(Consumer<CatalogSnapshot> listener) {
+        snapshotListeners.add(listener);
+        if (snapshot.get() != null) {
+            scheduleRebuild();
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (snapshotListeners.isEmpty() || !rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        indexBuilder.execute(() -> {
+            rebuildQueued.set(false);
+            CatalogSnapshot current = snapshot.get();
+            for (Consumer<CatalogSnapshot> listener : snapshotListeners) {
+                try {
+                    listener.accept(current);
+                } catch (RuntimeException e) {
+                    logger.warn("Could not rebuild a catalog index", e);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        indexBuilder.shutdownNow();
+    }
+
+    // Creates the change marker row, starting at the current time so another database is unlikely to share its value
+    @PostConstruct
+    void createStoredVersion() {
+        if (catalogVersionRepository.existsById(CatalogVersion.ID)) {
+            return;
+        }
+        CatalogVersion first = new CatalogVersion();
+        first.setId(CatalogVersion.ID);
+        first.setVersion(System.currentTimeMillis());
+        try {
+            catalogVersionRepository.saveAndFlush(first);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created it first
+        }
+    }
+
+    /**
+     * Records a write to the laptop table in the catalog version row, so a snapshot file built before the write is
+     * no longer loaded at startup. Call it in the writing transaction or after it commits, never before.
+     */
+    public void bumpStoredVersion() {
+        catalogVersionRepository.increment();
+    }
+
+    // Null if the marker row is missing, in which case no snapshot file can be trusted
+    private Long storedVersion() {
+        return catalogVersionRepository.findById(CatalogVersion.ID).map(CatalogVersion::getVersion).orElse(null);
+    }
+
+    /**
+     * Rebuild the snapshot and the price index from the database, e.g. after a bulk import.
+     * @return The new snapshot.
+     */
+    public synchronized CatalogSnapshot refresh() {
+        long start = System.nanoTime();
+        // Read before the rows: a write after this point bumps the marker past the value stored with the file
+        Long storedVersion = storedVersion();
+        List<Laptop> laptops = laptopRepository.findAll();
+        CatalogSnapshot fresh = publish(laptops);
+        logger.info("Catalog snapshot built with {} laptops in {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+        if (storedVersion != null) {
+            writeSnapshotFile(fresh, storedVersion);
+        }
+        return fresh;
+    }
+
+    /**
+     * Load the catalog from the binary snapshot file instead of the database.
+     * The file is only used if its checksum and schema version are valid and the catalog version row still has the
+     * value it was built at, which costs one primary key lookup instead of reading the laptop table. Writes made
+     * outside this application do not bump the row; after one, delete the file or run an import.
+     * @return True if the catalog was loaded from the file, false if the caller should {@link #refresh()}.
+     */
+    public synchronized boolean loadSnapshotFile() {
+        if (snapshotFile == null || snapshotFile.isEmpty() || !Files.isRegularFile(Path.of(snapshotFile))) {
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            CatalogSnapshotFile.Contents contents = CatalogSnapshotFile.read(Path.of(snapshotFile));
+            Long storedVersion = storedVersion();
+            if (storedVersion == null || contents.getCatalogVersion() != storedVersion) {
+                logger.info("Catalog snapshot file {} is stale, loading from the database", snapshotFile);
+                return false;
+            }
+            CatalogSnapshot loaded = publish(contents.getLaptops());
+            logger.info("Catalog snapshot loaded from {} with {} laptops in {} ms", snapshotFile, loaded.size(), (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            // A file that passes the checksum can still be malformed, e.g. lengths that run past the end of the buffer
+            logger.warn("Could not load catalog snapshot file {}, loading from the database", snapshotFile, e);
+            return false;
+        }
+    }
+
+    private CatalogSnapshot publish(List<Laptop> laptops) {
+        CatalogSnapshot fresh = CatalogSnapshot.of(laptops);
+        priceIndex = new PriceIndex(laptops);
+        snapshot.set(fresh);
+        version.incrementAndGet();
+        scheduleRebuild();
+        return fresh;
+    }
+
+    private void writeSnapshotFile(CatalogSnapshot current, long storedVersion) {
+        if (snapshotFile == null || snapshotFile.isEmpty()) {
+            return;
+        }
+        try {
+            CatalogSnapshotFile.write(current, storedVersion, Path.of(snapshotFile));
+        } catch (IOException e) {
+            logger.warn("Could not write catalog snapshot file {}", snapshotFile, e);
+        }
+    }
+
+    /**
+     * Publish a saved (added or updated) laptop to the snapshot.
+     * @param laptop The persisted laptop.
+     */
+    public synchronized void onLaptopSaved(Laptop laptop) {
+        if (laptop == null || laptop.getId() == null) {
+            return;
+        }
+        snapshot.updateAndGet(current -> current == null ? null : current.withLaptop(laptop));
+        PriceIndex index = priceIndex;
+        if (index != null) {
+            index.put(laptop);
+        }
+        version.incrementAndGet();
+        scheduleRebuild();
+        // The row is already committed, so the snapshot file is stale from here on
+        bumpStoredVersion();
+    }
+
+    /**
+     * Remove a deleted laptop from the snapshot.
+     * @param id The id of the deleted laptop.
+     */
+    public synchronized void onLaptopDeleted(Long id) {
+        snapshot.updateAndGet(current -> current == null ? null : current.withoutLaptop(id));
+        PriceIndex index = priceIndex;
+        if (index != null) {
+            index.remove(id);
+        }
+        version.incrementAndGet();
+        scheduleRebuild();
+        // The row is already committed, so the snapshot file is stale from here on
+        bumpStoredVersion();
+    }
+}
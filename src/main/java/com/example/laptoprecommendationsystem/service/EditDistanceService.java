@@ -1,85 +1,144 @@
 package com.example.laptoprecommendationsystem.service;
 
+import com.example.laptoprecommendationsystem.dto.SuggestionDTO;
 import com.example.laptoprecommendationsystem.model.Laptop;
+import com.example.laptoprecommendationsystem.util.BkTree;
+import com.example.laptoprecommendationsystem.util.CatalogSnapshot;
+import com.example.laptoprecommendationsystem.util.StringDistance;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
 public class EditDistanceService {
 
+    @Autowired
+    private CatalogService catalogService;
+
     // Function to calculate the Edit Distance between two words
     public static int calculateEditDistance(String word1, String word2) {
-        int len1 = word1.length();
-        int len2 = word2.length();
-
-        // Create a DP table to store the results of subproblems
-        int[][] dp = new int[len1 + 1][len2 + 1];
-
-        // Fill dp[][] in a bottom-up manner
-        for (int i = 0; i <= len1; i++) {
-            for (int j = 0; j <= len2; j++) {
-                if (i == 0) {
-                    dp[i][j] = j; // j insertions
-                } else if (j == 0) {
-                    dp[i][j] = i; // i deletions
-                } else if (word1.charAt(i - 1) == word2.charAt(j - 1)) {
-                    dp[i][j] = dp[i - 1][j - 1];
-                } else {
-                    dp[i][j] = 1 + Math.min(dp[i - 1][j], // Remove
-                            Math.min(dp[i][j - 1],    // Insert
-                                    dp[i - 1][j - 1])); // Replace
-                }
-            }
-        }
-
-        return dp[len1][len2];
+        return StringDistance.levenshtein(word1, word2);
     }
 
-    public List<Laptop> findMatches(List<Laptop> laptops, String searchTerm, int maxEditDistance) {
-        List<MatchResult> matches = new ArrayList<>();
+    // Edit distance if it is at most maxEditDistance, otherwise maxEditDistance + 1; stops early once exceeded
+    public static int calculateEditDistance(String word1, String word2, int maxEditDistance) {
+        return StringDistance.levenshtein(word1, word2, maxEditDistance);
+    }
 
-        int numSpaces = searchTerm.split("\\s+").length - 1; // Spaces define word count
-        int nGramSize = numSpaces + 1; // n-grams size for vocabulary
+    /**
+     * Finds laptops whose product name has a word, or an n-gram with as many words as the search term, within the
+     * given edit distance. The distinct words and n-grams of the snapshot's product names are held in BK-trees, so
+     * only terms that can be within the distance are compared instead of every name.
+     * @param snapshot The catalog snapshot to search.
+     * @param searchTerm The (possibly misspelled) search term.
+     * @param maxEditDistance The largest accepted edit distance.
+     * @return The matching laptops, closest first, word matches before n-gram matches.
+     */
+    public List<Laptop> findMatches(CatalogSnapshot snapshot, String searchTerm, int maxEditDistance) {
+        String lowerCaseSearchTerm = searchTerm.toLowerCase();
+        int nGramSize = searchTerm.split("\\s+").length; // Spaces define word count
+        NameTerms names = nameTerms(snapshot);
+
+        // Best (distance, kind) per row; kind 0 is a word match and 1 an n-gram match
+        Map<Integer, MatchResult> best = new TreeMap<>();
+        collectMatches(names.terms(1), lowerCaseSearchTerm, maxEditDistance, 0, snapshot, best);
+        if (nGramSize > 1) {
+            collectMatches(names.terms(nGramSize), lowerCaseSearchTerm, maxEditDistance, 1, snapshot, best);
+        }
+        List<MatchResult> matches = new ArrayList<>(best.values());
 
-        for (Laptop laptop : laptops) {
-            if (laptop == null || laptop.getProductName() == null) continue;
+        // Sort matches using QuickSort
+        quickSort(matches, 0, matches.size() - 1);
 
-            String name = laptop.getProductName().toLowerCase();
-            System.out.println("Checking product: " + name);
+        return matches.stream()
+                .map(MatchResult::getLaptop)
+                .collect(Collectors.toList());
+    }
 
-            String[] words = name.split("\\s+");
+    private static void collectMatches(Terms terms, String searchTerm, int maxEditDistance, int kind,
+                                       CatalogSnapshot snapshot, Map<Integer, MatchResult> best) {
+        for (SuggestionDTO match : terms.tree.search(searchTerm, maxEditDistance, Integer.MAX_VALUE)) {
+            for (int row : terms.rows.get(match.getTerm())) {
+                MatchResult current = best.get(row);
+                if (current == null || match.getDistance() < current.getFullEditDistance()) {
+                    best.put(row, new MatchResult(snapshot.laptopAt(row), match.getDistance(), kind));
+                }
+            }
+        }
+    }
 
-            for (String word : words) {
-                if (word == null || word.isEmpty()) continue;
+    // The terms of the latest snapshot; this is the fallback behind the fuzzy index, so its trees are built on first use
+    private volatile NameTerms nameTerms;
 
-                int currentEditDistance = calculateEditDistance(searchTerm.toLowerCase(), word.toLowerCase());
-                if (currentEditDistance <= maxEditDistance) {
-                    matches.add(new MatchResult(laptop, currentEditDistance, 0));
-                    System.out.println("Word match found: " + word);
-                    break;
-                }
+    private NameTerms nameTerms(CatalogSnapshot snapshot) {
+        NameTerms current = nameTerms;
+        if (current != null && current.snapshot == snapshot) {
+            return current;
+        }
+        if (snapshot != catalogService.getSnapshot()) {
+            // An older snapshot, e.g. the one a fuzzy index built before the last change serves; not cached, so it
+            // cannot replace the terms of the latest one
+            return new NameTerms(snapshot);
+        }
+        synchronized (this) {
+            current = nameTerms;
+            if (current == null || current.snapshot != snapshot) {
+                current = new NameTerms(snapshot);
+                nameTerms = current;
             }
+            return current;
+        }
+    }
+
+    // Word and n-gram trees over the product names of one snapshot, one per n-gram size, each built on first use
+    private static final class NameTerms {
+        final CatalogSnapshot snapshot;
+        final Map<Integer, Terms> bySize = new ConcurrentHashMap<>();
+
+        NameTerms(CatalogSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
 
-            List<String> nGrams = generateNGrams(words, nGramSize);
+        Terms terms(int nGramSize) {
+            return bySize.computeIfAbsent(nGramSize, this::build);
+        }
 
-            for (String nGram : nGrams) {
-                int currentEditDistance = calculateEditDistance(searchTerm.toLowerCase(), nGram.toLowerCase());
-                if (currentEditDistance <= maxEditDistance) {
-                    matches.add(new MatchResult(laptop, currentEditDistance, 1));
-                    System.out.println("N-gram match found: " + nGram);
-                    break;
+        private Terms build(int nGramSize) {
+            Map<String, List<Integer>> rowsByTerm = new HashMap<>();
+            for (int row = 0; row < snapshot.size(); row++) {
+                Laptop laptop = snapshot.laptopAt(row);
+                if (laptop == null || laptop.getProductName() == null) continue;
+
+                String[] words = laptop.getProductName().toLowerCase().split("\\s+");
+                Set<String> terms = new HashSet<>(generateNGrams(words, nGramSize));
+                for (String term : terms) {
+                    if (!term.isEmpty()) {
+                        rowsByTerm.computeIfAbsent(term, key -> new ArrayList<>()).add(row);
+                    }
                 }
             }
+            Map<String, Long> frequencies = new HashMap<>();
+            Map<String, int[]> rows = new HashMap<>();
+            rowsByTerm.forEach((term, termRows) -> {
+                frequencies.put(term, (long) termRows.size());
+                rows.put(term, termRows.stream().mapToInt(Integer::intValue).toArray());
+            });
+            return new Terms(BkTree.of(frequencies), rows);
         }
+    }
 
-        // Sort matches using QuickSort
-        quickSort(matches, 0, matches.size() - 1);
+    // The distinct terms of one size in a BK-tree, with the rows whose names contain each term
+    private static final class Terms {
+        final BkTree tree;
+        final Map<String, int[]> rows;
 
-        return matches.stream()
-                .map(MatchResult::getLaptop)
-                .collect(Collectors.toList());
+        Terms(BkTree tree, Map<String, int[]> rows) {
+            this.tree = tree;
+            this.rows = rows;
+        }
     }
 
     // QuickSort implementation
@@ -114,7 +173,7 @@ public class EditDistanceService {
         list.set(j, temp);
     }
 
-    private List<String> generateNGrams(String[] words, int nGramSize) {
+    private static List<String> generateNGrams(String[] words, int nGramSize) {
         List<String> nGrams = new ArrayList<>();
         for (int i = 0; i <= words.length - nGramSize; i++) {
             StringBuilder nGram = new StringBuilder();
@@ -1,62 +1,54 @@
 package com.example.laptoprecommendationsystem.service;
 
 import com.example.laptoprecommendationsystem.model.Laptop;
+import com.example.laptoprecommendationsystem.util.CatalogSnapshot;
+import com.example.laptoprecommendationsystem.util.CompactTrie;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class InvertedIndexService {
 
-    // TrieNode definition
-    private static class TrieNode {
-        private final TrieNode[] children;
-        private boolean isEndOfWord;
-        private final Set<Long> laptopIds; // Stores unique laptop IDs
+    @Autowired
+    private CatalogService catalogService;
 
-        TrieNode() {
-            this.children = new TrieNode[26]; // Supports lowercase English letters
-            this.isEndOfWord = false;
-            this.laptopIds = new HashSet<>();
-        }
+    // Compact prefix index over the indexed fields of every catalog laptop, rebuilt when the snapshot changes
+    private final AtomicReference<CompactTrie> index = new AtomicReference<>();
+    // Words inserted for laptops the catalog snapshot does not cover yet, by laptop id; searched directly
+    private final Map<Long, ExtraLaptop> extraLaptops = new ConcurrentHashMap<>();
+
+    private static final class ExtraLaptop {
+        // Catalog version when the laptop was first inserted; a snapshot published later without it drops it
+        final long version;
+        final Set<String> words = ConcurrentHashMap.newKeySet();
 
-        void addLaptopId(Long laptopId) {
-            laptopIds.add(laptopId);
+        ExtraLaptop(long version) {
+            this.version = version;
         }
     }
 
-    private final TrieNode root;
-
-    public InvertedIndexService() {
-        this.root = new TrieNode();
+    // Rebuilt in the background whenever the catalog publishes a snapshot; searches keep the previous index meanwhile
+    @PostConstruct
+    void watchCatalog() {
+        catalogService.addSnapshotListener(this::rebuild);
     }
 
     /**
-     * Inserts a word into the Trie with its associated laptop ID.
+     * Inserts a word into the index with its associated laptop ID.
      * @param word The word to insert.
      * @param laptopId The ID of the laptop where the word appears.
      */
     public void insert(String word, Long laptopId) {
-        if (word == null || word.trim().isEmpty()) {
+        String key = toKey(word);
+        if (key == null || laptopId == null) {
             return; // Skip empty or null words
         }
-
-        TrieNode currentNode = root;
-
-        for (char character : word.toLowerCase().toCharArray()) {
-            if (!isValidCharacter(character)) {
-                continue; // Skip invalid characters
-            }
-
-            int index = character - 'a';
-            if (currentNode.children[index] == null) {
-                currentNode.children[index] = new TrieNode();
-            }
-            currentNode = currentNode.children[index];
-        }
-
-        currentNode.isEndOfWord = true;
-        currentNode.addLaptopId(laptopId);
+        extraLaptops.computeIfAbsent(laptopId, id -> new ExtraLaptop(catalogService.getVersion())).words.add(key);
     }
 
     /**
@@ -68,39 +60,73 @@ public class InvertedIndexService {
         if (prefix == null || prefix.trim().isEmpty()) {
             return Collections.emptySet(); // Return empty result for null or empty prefix
         }
-
-        TrieNode currentNode = root;
-
-        for (char character : prefix.toLowerCase().toCharArray()) {
+        String lower = prefix.toLowerCase();
+        for (char character : lower.toCharArray()) {
             if (!isValidCharacter(character)) {
                 return Collections.emptySet(); // Return empty if prefix contains invalid characters
             }
-
-            int index = character - 'a';
-            if (currentNode.children[index] == null) {
-                return Collections.emptySet(); // Prefix not found
+        }
+        Set<Long> ids = index().searchPostingsByPrefix(lower);
+        if (extraLaptops.isEmpty()) {
+            return ids;
+        }
+        ids = new HashSet<>(ids);
+        for (Map.Entry<Long, ExtraLaptop> entry : extraLaptops.entrySet()) {
+            for (String word : entry.getValue().words) {
+                if (word.startsWith(lower)) {
+                    ids.add(entry.getKey());
+                    break;
+                }
             }
-            currentNode = currentNode.children[index];
         }
+        return ids;
+    }
 
-        return collectLaptopIds(currentNode); // Collect all matching laptop IDs
+    private CompactTrie index() {
+        CompactTrie current = index.get();
+        if (current != null) {
+            return current;
+        }
+        // Only a search before the first background build has to wait; a newer background result wins
+        current = build(catalogService.getSnapshot());
+        return index.compareAndSet(null, current) ? current : index.get();
     }
 
-    /**
-     * Collects all laptop IDs from the given TrieNode and its descendants.
-     * @param node The current TrieNode.
-     * @return A set of laptop IDs.
-     */
-    private Set<Long> collectLaptopIds(TrieNode node) {
-        Set<Long> result = new HashSet<>(node.laptopIds);
+    private void rebuild(CatalogSnapshot snapshot) {
+        long version = catalogService.getVersion();
+        index.set(build(snapshot));
+        // Laptops now in the snapshot are indexed from it, and a snapshot published after an insert that still
+        // lacks the laptop means it was deleted or never stored
+        extraLaptops.entrySet().removeIf(entry -> snapshot.rowOf(entry.getKey()) >= 0 || entry.getValue().version < version);
+    }
 
-        for (TrieNode child : node.children) {
-            if (child != null) {
-                result.addAll(collectLaptopIds(child));
+    // Postings only: the inverted index never asks for the most frequent keys, so none are cached
+    private CompactTrie build(CatalogSnapshot snapshot) {
+        CompactTrie.Builder builder = new CompactTrie.Builder(0);
+        for (int row = 0; row < snapshot.size(); row++) {
+            Laptop laptop = snapshot.laptopAt(row);
+            for (String field : indexedFields(laptop)) {
+                String key = toKey(field);
+                if (key != null) {
+                    builder.addPosting(key, laptop.getId());
+                }
             }
         }
+        return builder.build();
+    }
 
-        return result;
+    // The word as stored: lower-cased letters only, or null if nothing is left
+    private String toKey(String word) {
+        if (word == null || word.trim().isEmpty()) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(word.length());
+        for (char character : word.toLowerCase().toCharArray()) {
+            if (isValidCharacter(character)) {
+                key.append(character); // Invalid characters are skipped
+            }
+        }
+        return key.length() == 0 ? null : key.toString();
     }
 
     /**
@@ -121,14 +147,18 @@ public class InvertedIndexService {
 
         Long id = laptop.getId();
 
-        // Index fields such as brand name, product name, OS, etc.
-        insert(laptop.getBrandName(), id);
-        insert(laptop.getProductName(), id);
-        insert(laptop.getOs(), id);
-        insert(laptop.getProcessor(), id);
-        insert(laptop.getGraphics(), id);
-        insert(laptop.getDisplay(), id);
-        insert(laptop.getMemory(), id);
-        insert(laptop.getStorage(), id);
+        // Catalog laptops are already indexed from the snapshot
+        if (id != null && catalogService.getSnapshot().rowOf(id) >= 0) {
+            return;
+        }
+        for (String field : indexedFields(laptop)) {
+            insert(field, id);
+        }
+    }
+
+    // Fields such as brand name, product name, OS, etc.
+    private static String[] indexedFields(Laptop laptop) {
+        return new String[]{laptop.getBrandName(), laptop.getProductName(), laptop.getOs(), laptop.getProcessor(),
+                laptop.getGraphics(), laptop.getDisplay(), laptop.getMemory(), laptop.getStorage()};
     }
 }
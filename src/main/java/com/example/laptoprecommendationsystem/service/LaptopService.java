@@ -1,34 +1,87 @@
 package com.example.laptoprecommendationsystem.service;
 
+import com.example.laptoprecommendationsystem.dto.CursorPageDTO;
+import com.example.laptoprecommendationsystem.dto.FacetedRecommendationDTO;
+import com.example.laptoprecommendationsystem.dto.LaptopDTO;
 import com.example.laptoprecommendationsystem.model.Laptop;
 import com.example.laptoprecommendationsystem.repository.LaptopRepository;
-import com.example.laptoprecommendationsystem.util.LaptopQuickSort;
+import com.example.laptoprecommendationsystem.repository.LaptopSpecifications;
+import com.example.laptoprecommendationsystem.util.CatalogSnapshot;
+import com.example.laptoprecommendationsystem.util.FacetIndex;
+import com.example.laptoprecommendationsystem.util.LaptopFingerprint;
+import com.example.laptoprecommendationsystem.util.LaptopSortEngine;
+import com.example.laptoprecommendationsystem.util.PriceCursor;
+import com.example.laptoprecommendationsystem.util.PriceIndex;
+import com.example.laptoprecommendationsystem.util.SpecParser;
+import com.example.laptoprecommendationsystem.util.VersionedLruCache;
 import org.apache.poi.ss.usermodel.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import java.util.*;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Service
 public class LaptopService {
 
+    // Regex pattern to match numeric values
+    private static final Pattern NUMERIC_PATTERN = Pattern.compile("^\\d+(\\.\\d+)?$");
+    private static final String RECOMMEND_MODE_DATABASE = "database";
+
+    // "memory" filters the in-memory catalog snapshot, "database" pushes filters and pagination down to SQL
+    @Value("${laptop.recommend.mode:memory}")
+    private String recommendMode;
+
+    private final VersionedLruCache<List<Object>, Object> recommendCache;
+
     @Autowired
     private LaptopRepository laptopRepository;
 
+    @Autowired
+    private CatalogService catalogService;
+
+    public LaptopService(@Value("${laptop.recommend.cache.max-entries:1000}") int recommendCacheMaxEntries) {
+        this.recommendCache = new VersionedLruCache<>(recommendCacheMaxEntries);
+    }
+
 
 //    private static final String EXCEL_FILE_PATH = "src/main/resources/products-Excel-upd.xlsx";
 
 
-    public List<Laptop> getAllLaptopsSortedByPrice(String order) {
-        // Fetch all laptops from the repository
-        List<Laptop> laptops = laptopRepository.findAll();
+    /**
+     * Get one page of laptops ordered by price, read from the maintained price index.
+     * @param order The sorting order ("asc" for ascending, "desc" for descending).
+     * @param page The page number (0-based index), ignored when a cursor is given.
+     * @param size The number of laptops per page.
+     * @param cursor Cursor returned with the previous page, or null.
+     * @return The page of laptops and the cursor of the next page.
+     */
+    public CursorPageDTO<Laptop> getLaptopsSortedByPrice(String order, int page, int size, String cursor) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        boolean isAscending = order.equalsIgnoreCase("asc");
+        PriceIndex priceIndex = catalogService.getPriceIndex();
 
-        // Sort laptops by price using QuickSort
-        LaptopQuickSort.quickSortByPrice(laptops, order);
+        if (cursor != null && !cursor.isEmpty()) {
+            return priceIndex.after(isAscending, PriceCursor.decode(cursor), size);
+        }
+        return priceIndex.page(isAscending, (long) page * size, size);
+    }
 
-        return laptops;
+    /**
+     * Get a page of laptops in a multi-key order.
+     * @param sortBy Comma separated sort keys, e.g. "price,ram:desc,brand".
+     * @param order Default direction for keys without one ("asc" or "desc").
+     * @param pageable The page to return.
+     * @return A page of sorted laptops.
+     */
+    public Page<Laptop> getLaptopsSorted(String sortBy, String order, Pageable pageable) {
+        List<LaptopSortEngine.SortOrder> orders = LaptopSortEngine.parse(sortBy, order);
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+        int[] rows = LaptopSortEngine.sortRows(snapshot, orders);
+        return toPage(snapshot, rows, pageable);
     }
 
     /**
@@ -42,6 +95,46 @@ public class LaptopService {
         return laptopRepository.findAll(pageable);
     }
 
+    /**
+     * Get a paginated list of laptop summaries, without the image and file path columns.
+     * @param page The page number to retrieve (0-based index).
+     * @param size The number of laptops per page.
+     * @return A page of laptop summaries.
+     */
+    public Page<LaptopDTO> getLaptopSummariesPaginated(int page, int size) {
+        return laptopRepository.findAllSummaries(PageRequest.of(page, size));
+    }
+
+    /**
+     * Get one page of laptops in (price, id) order using keyset pagination.
+     * Unlike {@link #getLaptopsPaginated}, pages are found by seeking past the cursor instead of skipping rows,
+     * and no total count is computed, so deep pages cost the same as the first one.
+     * @param cursor Cursor returned with the previous page, or null for the first page.
+     * @param size The number of laptops per page.
+     * @return The page of laptops and the cursor of the next page.
+     */
+    public CursorPageDTO<Laptop> getLaptopsByCursor(String cursor, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        // Fetch one extra row to find out whether another page follows
+        Limit limit = Limit.of(size + 1);
+        List<Laptop> laptops;
+        if (cursor != null && !cursor.isEmpty()) {
+            PriceCursor after = PriceCursor.decode(cursor);
+            laptops = laptopRepository.findNextPageByPrice(after.getPrice(), after.getId(), limit);
+        } else {
+            laptops = laptopRepository.findFirstPageByPrice(limit);
+        }
+
+        if (laptops.size() <= size) {
+            return new CursorPageDTO<>(laptops, null);
+        }
+        List<Laptop> items = laptops.subList(0, size);
+        Laptop last = items.get(size - 1);
+        return new CursorPageDTO<>(new ArrayList<>(items), new PriceCursor(last.getPrice(), last.getId()).encode());
+    }
+
     public Laptop getLaptopById(Long id) {
         Optional<Laptop> optionalLaptop = laptopRepository.findById(id);
         return optionalLaptop.orElse(null);
@@ -56,78 +149,101 @@ public class LaptopService {
      * @param screenSize Preferred screen size (e.g., 13", 15", 17")
      * @param minStorage Minimum storage in GB
      * @param minRAM Minimum RAM in GB
-     * @return A list of recommended laptops based on the criteria.
+     * @param pageable The page to return.
+     * @return A page of recommended laptops based on the criteria.
      */
-    // Method to filter laptops based on given criteria
-    private List<Laptop> applyFilters(String brand, Double minBudget, Double maxBudget, Integer screenSize, Integer minStorage, Integer minRAM) {
-        // Get all laptops from the database
-        List<Laptop> allLaptops = laptopRepository.findAll();
-        List<Laptop> filteredLaptops = new ArrayList<>();
-
-        // Iterate over each laptop and check if it matches the filters
-        for (Laptop laptop : allLaptops) {
-            boolean matches = true;
-
-            // Check brand
-            if (brand != null && !brand.isEmpty() && !laptop.getBrandName().toLowerCase().contains(brand.toLowerCase())) {
-                matches = false;
-            }
-
-            // Check minimum and maximum budget
-            if ((minBudget != null && laptop.getPrice() < minBudget) ||
-                    (maxBudget != null && laptop.getPrice() > maxBudget)) {
-                matches = false;
-            }
-
-            // Check screen size
-            if (screenSize != null && screenSize > 0 && !laptop.getDisplay().contains(String.valueOf(screenSize))) {
-                matches = false;
-            }
-
-            // Check minimum storage
-            if (minStorage != null && parseStorage(laptop.getStorage()) < minStorage) {
-                matches = false;
-            }
-
-            // Check minimum RAM
-            if (minRAM != null && parseMemory(laptop.getMemory()) < minRAM) {
-                matches = false;
-            }
-
-            // If all conditions are met, add to the filtered list
-            if (matches) {
-                filteredLaptops.add(laptop);
-            }
+    @SuppressWarnings("unchecked")
+    public Page<Laptop> getRecommendedLaptops(String brand, Double minBudget, Double maxBudget, Integer screenSize, Integer minStorage, Integer minRAM, Pageable pageable) {
+        validateRecommendInputs(minBudget, maxBudget, screenSize, minRAM);
+
+        // Serve repeated filter combinations from the cache until the catalog changes
+        long catalogVersion = catalogService.getVersion();
+        List<Object> cacheKey = recommendCacheKey("page", brand, minBudget, maxBudget, screenSize, minStorage, minRAM, pageable);
+        Object cached = recommendCache.get(cacheKey, catalogVersion);
+        if (cached != null) {
+            return (Page<Laptop>) cached;
+        }
+        Page<Laptop> result = findRecommendedLaptops(brand, minBudget, maxBudget, screenSize, minStorage, minRAM, pageable);
+        recommendCache.put(cacheKey, result, catalogVersion);
+        return result;
+    }
+
+    private Page<Laptop> findRecommendedLaptops(String brand, Double minBudget, Double maxBudget, Integer screenSize, Integer minStorage, Integer minRAM, Pageable pageable) {
+        if (RECOMMEND_MODE_DATABASE.equalsIgnoreCase(recommendMode)) {
+            // Let the database filter, order and paginate using the typed spec columns
+            Pageable orderedPageable = pageable.getSort().isSorted()
+                    ? pageable
+                    : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id"));
+            return laptopRepository.findAll(
+                    LaptopSpecifications.recommended(brand, minBudget, maxBudget, screenSize, minStorage, minRAM),
+                    orderedPageable);
         }
 
-        return filteredLaptops;
+        // Apply filters after validation against the in-memory snapshot
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+        int[] matchingRows = snapshot.filter(brand, minBudget, maxBudget, screenSize, minStorage, minRAM);
+        return toPage(snapshot, matchingRows, pageable);
     }
 
+    /**
+     * Recommend laptops and count the facet values (brand, RAM, storage, screen size) of the whole result set.
+     * Takes the same criteria as {@link #getRecommendedLaptops}.
+     * @return The requested page together with the facet counts.
+     */
+    public FacetedRecommendationDTO getRecommendedLaptopsWithFacets(String brand, Double minBudget, Double maxBudget, Integer screenSize, Integer minStorage, Integer minRAM, Pageable pageable) {
+        validateRecommendInputs(minBudget, maxBudget, screenSize, minRAM);
+
+        long catalogVersion = catalogService.getVersion();
+        List<Object> cacheKey = recommendCacheKey("faceted", brand, minBudget, maxBudget, screenSize, minStorage, minRAM, pageable);
+        Object cached = recommendCache.get(cacheKey, catalogVersion);
+        if (cached != null) {
+            return (FacetedRecommendationDTO) cached;
+        }
 
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+        FacetIndex facets = snapshot.facets();
+        BitSet matches = facets.query(brand, minBudget, maxBudget, screenSize, minStorage, minRAM);
 
-    // Method to get filtered laptops with pagination
-    public Page<Laptop> getRecommendedLaptops(String brand, Double minBudget, Double maxBudget, Integer screenSize, Integer minStorage, Integer minRAM, Pageable pageable) {
-        // Regex pattern to match numeric values
-        Pattern numericPattern = Pattern.compile("^\\d+(\\.\\d+)?$");
+        Page<Laptop> page = toPage(snapshot, matches.stream().toArray(), pageable);
+        FacetedRecommendationDTO result = new FacetedRecommendationDTO(page, facets.countFacets(matches));
+        recommendCache.put(cacheKey, result, catalogVersion);
+        return result;
+    }
+
+    /**
+     * Get hit, miss and eviction statistics of the recommend result cache.
+     * @return The cache statistics.
+     */
+    public Map<String, Long> getRecommendCacheStats() {
+        return recommendCache.getStats();
+    }
+
+    // Normalized filter tuple, so "Dell" and " dell " share an entry
+    private List<Object> recommendCacheKey(String kind, String brand, Double minBudget, Double maxBudget, Integer screenSize, Integer minStorage, Integer minRAM, Pageable pageable) {
+        String normalizedBrand = brand == null || brand.trim().isEmpty() ? null : brand.trim().toLowerCase();
+        Integer normalizedScreenSize = screenSize != null && screenSize > 0 ? screenSize : null;
+        return Arrays.asList(kind, normalizedBrand, minBudget, maxBudget, normalizedScreenSize, minStorage, minRAM,
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString());
+    }
 
+    private void validateRecommendInputs(Double minBudget, Double maxBudget, Integer screenSize, Integer minRAM) {
         // Validate that budget and RAM values are numeric
-        if ((minBudget != null && !numericPattern.matcher(minBudget.toString()).matches()) ||
-                (maxBudget != null && !numericPattern.matcher(maxBudget.toString()).matches()) ||
-                (minRAM != null && !numericPattern.matcher(minRAM.toString()).matches()) ||
-                (screenSize != null && !numericPattern.matcher(screenSize.toString()).matches())) {
+        if ((minBudget != null && !NUMERIC_PATTERN.matcher(minBudget.toString()).matches()) ||
+                (maxBudget != null && !NUMERIC_PATTERN.matcher(maxBudget.toString()).matches()) ||
+                (minRAM != null && !NUMERIC_PATTERN.matcher(minRAM.toString()).matches()) ||
+                (screenSize != null && !NUMERIC_PATTERN.matcher(screenSize.toString()).matches())) {
 
             throw new IllegalArgumentException("Input values for budget, RAM, and screen size must be numeric.");
         }
+    }
 
-        // Apply filters after validation
-        List<Laptop> filteredLaptops = applyFilters(brand, minBudget, maxBudget, screenSize, minStorage, minRAM);
-
-        // Convert the filtered list to a pageable format
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), filteredLaptops.size());
-        List<Laptop> paginatedLaptops = filteredLaptops.subList(start, end);
+    private Page<Laptop> toPage(CatalogSnapshot snapshot, int[] matchingRows, Pageable pageable) {
+        // Only materialize the requested page
+        int start = (int) Math.min(pageable.getOffset(), matchingRows.length);
+        int end = Math.min((start + pageable.getPageSize()), matchingRows.length);
+        List<Laptop> paginatedLaptops = snapshot.laptopsAt(matchingRows, start, end);
 
-        return new PageImpl<>(paginatedLaptops, pageable, filteredLaptops.size());
+        return new PageImpl<>(paginatedLaptops, pageable, matchingRows.length);
     }
 
     /**
@@ -160,48 +276,17 @@ public class LaptopService {
         return laptopRepository.findByBrandNameContainingIgnoreCase(query, pageRequest);
     }
 
-    /**
-     * Helper method to parse memory size from a string (e.g., "8GB" to 8).
-     * @param memory The memory string (e.g., "8GB", "16GB").
-     * @return The parsed memory value in GB as an integer.
-     */
-    private int parseMemory(String memory) {
-        try {
-            // Use a regular expression to find the first numeric value in the string
-            Pattern pattern = Pattern.compile("\\d+");
-            Matcher matcher = pattern.matcher(memory);
-
-            // If a number is found, return it as an integer
-            if (matcher.find()) {
-                return Integer.parseInt(matcher.group());
-            }
-        } catch (NumberFormatException e) {
-            // Return 0 if parsing fails
-        }
-
-        return 0; // Default to 0 if no numeric value is found
-    }
-
-
-    /**
-     * Helper method to parse storage size from a string (e.g., "512GB" to 512).
-     * @param storage The storage string (e.g., "512GB", "1TB").
-     * @return The parsed storage value in GB as an integer.
-     */
-    private int parseStorage(String storage) {
-        try {
-            if (storage.contains("TB")) {
-                return Integer.parseInt(storage.replaceAll("[^0-9]", "")) * 1024; // Convert TB to GB
-            } else {
-                return Integer.parseInt(storage.replaceAll("[^0-9]", ""));
-            }
-        } catch (NumberFormatException e) {
-            return 0; // Default to 0 if parsing fails
-        }
+    // Same as getSuggestions, but selects summaries only
+    public List<LaptopDTO> getSuggestionSummaries(String query, int page, int size) {
+        return laptopRepository.findSummariesByBrandNameContaining(query, PageRequest.of(page, size));
     }
 
     public Laptop addLaptop(Laptop laptop) {
-        return laptopRepository.save(laptop);
+        SpecParser.normalize(laptop);
+        laptop.setContentHash(LaptopFingerprint.contentHash(laptop));
+        Laptop savedLaptop = laptopRepository.save(laptop);
+        catalogService.onLaptopSaved(savedLaptop);
+        return savedLaptop;
     }
 
 
@@ -221,9 +306,14 @@ public class LaptopService {
             existingLaptop.setDisplay(updatedLaptop.getDisplay());
             existingLaptop.setMemory(updatedLaptop.getMemory());
             existingLaptop.setStorage(updatedLaptop.getStorage());
-
-            // Save and return the updated laptop
-            return laptopRepository.save(existingLaptop);
+            SpecParser.normalize(existingLaptop);
+            // Keep the hash current, so delta imports and the catalog snapshot file see the edit
+            existingLaptop.setContentHash(LaptopFingerprint.contentHash(existingLaptop));
+
+            // Save, publish to the catalog snapshot and return the updated laptop
+            Laptop savedLaptop = laptopRepository.save(existingLaptop);
+            catalogService.onLaptopSaved(savedLaptop);
+            return savedLaptop;
         } else {
             return null;
         }
@@ -232,6 +322,7 @@ public class LaptopService {
 
     public void deleteLaptop(Long id) {
         laptopRepository.deleteById(id);
+        catalogService.onLaptopDeleted(id);
     }
 
     // Search laptops based on a search term in brand name or product name
@@ -239,5 +330,10 @@ public class LaptopService {
         // Fetch laptops by product name or brand name containing the search term
         return laptopRepository.findByProductNameContainingIgnoreCaseOrBrandNameContainingIgnoreCase(searchTerm, searchTerm);
     }
+
+    // Same as searchLaptops, but selects summaries only
+    public List<LaptopDTO> searchLaptopSummaries(String searchTerm) {
+        return laptopRepository.searchSummaries(searchTerm);
+    }
 }
 
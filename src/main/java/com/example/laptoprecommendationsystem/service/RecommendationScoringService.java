@@ -0,0 +1,195 @@
+package com.example.laptoprecommendationsystem.service;
+
+import com.example.laptoprecommendationsystem.dto.ScoredLaptopDTO;
+import com.example.laptoprecommendationsystem.model.UserPreferences;
+import com.example.laptoprecommendationsystem.util.CatalogSnapshot;
+import com.example.laptoprecommendationsystem.util.LaptopFeatures;
+import com.example.laptoprecommendationsystem.util.SpecParser;
+import com.example.laptoprecommendationsystem.util.WeightProfile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ranks the catalog against a user's preferences.
+ * Each laptop gets a weighted sum of its normalized features, with the weights taken from the profile of the
+ * user's usage type; only the best K are kept, in a bounded min-heap.
+ */
+@Service
+public class RecommendationScoringService {
+
+    private static final String DEFAULT_USAGE_TYPE = "general";
+
+    @Autowired
+    private CatalogService catalogService;
+
+    private final Map<String, WeightProfile> profiles = new ConcurrentHashMap<>();
+
+    public RecommendationScoringService() {
+        // Weights: price, memory, storage, graphics, screen, brand
+        profiles.put(DEFAULT_USAGE_TYPE, new WeightProfile(0.35, 0.25, 0.15, 0.05, 0.10, 0.10));
+        profiles.put("gaming", new WeightProfile(0.10, 0.25, 0.15, 0.35, 0.10, 0.05));
+        profiles.put("office", new WeightProfile(0.45, 0.20, 0.10, 0.00, 0.10, 0.15));
+        profiles.put("student", new WeightProfile(0.50, 0.15, 0.10, 0.05, 0.10, 0.10));
+        profiles.put("creative", new WeightProfile(0.10, 0.30, 0.25, 0.20, 0.10, 0.05));
+    }
+
+    /**
+     * Register or replace the weight profile of a usage type.
+     * @param usageType The usage type (e.g. "gaming"), case-insensitive.
+     * @param profile The weights to use for it.
+     */
+    public void registerProfile(String usageType, WeightProfile profile) {
+        profiles.put(usageType.toLowerCase(), profile);
+    }
+
+    /**
+     * Get the weight profile of a usage type, falling back to the general profile.
+     * @param usageType The usage type, may be null.
+     * @return The weight profile.
+     */
+    public WeightProfile getProfile(String usageType) {
+        WeightProfile profile = usageType != null ? profiles.get(usageType.toLowerCase()) : null;
+        return profile != null ? profile : profiles.get(DEFAULT_USAGE_TYPE);
+    }
+
+    /**
+     * Score every laptop within the budget and return the K best.
+     * @param preferences The user's preferences; all fields are optional.
+     * @param k The number of laptops to return.
+     * @return The top K laptops, best first.
+     */
+    public List<ScoredLaptopDTO> getTopRecommendations(UserPreferences preferences, int k) {
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+        LaptopFeatures features = snapshot.features();
+        if (k <= 0 || snapshot.size() == 0) {
+            return Collections.emptyList();
+        }
+
+        WeightProfile profile = getProfile(preferences.getUsageType());
+        double performance = performanceFactor(preferences.getPerformance());
+        float priceWeight = (float) (profile.getPrice() / performance);
+        float memoryWeight = (float) (profile.getMemory() * performance);
+        float storageWeight = (float) (profile.getStorage() * performance);
+        float graphicsWeight = (float) (profile.getGraphics() * performance);
+        float screenWeight = (float) profile.getScreen();
+        float brandWeight = (float) profile.getBrand();
+
+        double minBudget = preferences.getBudgetMin() != null ? preferences.getBudgetMin() : Double.NEGATIVE_INFINITY;
+        double maxBudget = preferences.getBudgetMax() != null ? preferences.getBudgetMax() : Double.POSITIVE_INFINITY;
+        int desiredRam = SpecParser.parseMemory(preferences.getMemory());
+        int desiredStorage = SpecParser.parseStorage(preferences.getStorage());
+        float desiredScreen = (float) SpecParser.parseScreenInches(preferences.getScreenSize());
+        boolean[] preferredBrands = preferredBrands(snapshot, preferences.getBrand());
+
+        // Bounded min-heap of the best rows seen so far; heapScores[0] is the worst of them
+        int[] heapRows = new int[Math.min(k, snapshot.size())];
+        float[] heapScores = new float[heapRows.length];
+        int heapSize = 0;
+
+        for (int row = 0; row < snapshot.size(); row++) {
+            double price = snapshot.priceAt(row);
+            if (price < minBudget || price > maxBudget) {
+                continue;
+            }
+
+            float memory = desiredRam > 0 ? Math.min(1f, snapshot.ramGbAt(row) / (float) desiredRam) : features.memoryAt(row);
+            float storage = desiredStorage > 0 ? Math.min(1f, snapshot.storageGbAt(row) / (float) desiredStorage) : features.storageAt(row);
+            float screen = desiredScreen > 0 ? Math.max(0f, 1f - Math.abs(snapshot.screenInchesAt(row) - desiredScreen) / 3f) : 0f;
+            int brandId = snapshot.brandIdAt(row);
+            float brand = preferredBrands != null && brandId >= 0 && preferredBrands[brandId] ? 1f : 0f;
+
+            float score = priceWeight * features.cheapnessAt(row)
+                    + memoryWeight * memory
+                    + storageWeight * storage
+                    + graphicsWeight * features.discreteGraphicsAt(row)
+                    + screenWeight * screen
+                    + brandWeight * brand;
+
+            if (heapSize < heapRows.length) {
+                heapRows[heapSize] = row;
+                heapScores[heapSize] = score;
+                siftUp(heapRows, heapScores, heapSize++);
+            } else if (score > heapScores[0]) {
+                heapRows[0] = row;
+                heapScores[0] = score;
+                siftDown(heapRows, heapScores, heapSize);
+            }
+        }
+
+        // Drain the heap worst-first, filling the result from the back
+        ScoredLaptopDTO[] ranked = new ScoredLaptopDTO[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            ranked[i] = new ScoredLaptopDTO(snapshot.laptopAt(heapRows[0]), heapScores[0]);
+            heapRows[0] = heapRows[i];
+            heapScores[0] = heapScores[i];
+            siftDown(heapRows, heapScores, i);
+        }
+        return Arrays.asList(ranked);
+    }
+
+    // "high" favours specs over price, "low" favours price over specs
+    private double performanceFactor(String performance) {
+        if (performance == null) {
+            return 1.0;
+        }
+        switch (performance.toLowerCase()) {
+            case "high":
+                return 1.5;
+            case "low":
+                return 0.5;
+            default:
+                return 1.0;
+        }
+    }
+
+    private boolean[] preferredBrands(CatalogSnapshot snapshot, String brand) {
+        if (brand == null || brand.isEmpty()) {
+            return null;
+        }
+        String query = brand.toLowerCase();
+        boolean[] matches = new boolean[snapshot.brandCount()];
+        for (int brandId = 0; brandId < matches.length; brandId++) {
+            matches[brandId] = snapshot.brandName(brandId).contains(query);
+        }
+        return matches;
+    }
+
+    private static void siftUp(int[] rows, float[] scores, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (scores[parent] <= scores[index]) {
+                break;
+            }
+            swap(rows, scores, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] rows, float[] scores, int size) {
+        int index = 0;
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && scores[left] < scores[smallest]) smallest = left;
+            if (right < size && scores[right] < scores[smallest]) smallest = right;
+            if (smallest == index) {
+                return;
+            }
+            swap(rows, scores, smallest, index);
+            index = smallest;
+        }
+    }
+
+    private static void swap(int[] rows, float[] scores, int i, int j) {
+        int row = rows[i];
+        rows[i] = rows[j];
+        rows[j] = row;
+        float score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+}
@@ -5,6 +5,8 @@ import com.example.laptoprecommendationsystem.repository.SearchFrequencyReposito
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Map;
 import java.util.Optional;
@@ -16,6 +18,9 @@ public class SearchFrequencyService {
     @Autowired
     private SearchFrequencyRepository searchFrequencyRepository;
 
+    @Autowired
+    private WordCompletionService wordCompletionService;
+
     /**
      * Increments the search count for the given search term.
      * The KMP algorithm is used to check if the term exists within the text.
@@ -35,8 +40,10 @@ public class SearchFrequencyService {
         boolean isTermFound = searchUsingKMP(term, normalizedSearchTerm);
 
         if (isTermFound) {
+            long now = System.currentTimeMillis();
             // Check if the search term already exists in the database
             Optional<SearchFrequency> existingSearch = searchFrequencyRepository.findBySearchTerm(normalizedSearchTerm);
+            double liveScore;
 
             if (existingSearch.isPresent()) {
                 // If the search term exists, increment its count
@@ -45,6 +52,11 @@ public class SearchFrequencyService {
 
                 int newCount = searchFrequency.getSearchCount() + 1;
                 searchFrequency.setSearchCount(newCount);
+                // Keep the decayed score the completion ranking is rebuilt from, as of this search
+                liveScore = wordCompletionService.decayedScore(
+                        searchFrequency.getLiveScore(), searchFrequency.getLiveScoreTime(), now) + 1;
+                searchFrequency.setLiveScore(liveScore);
+                searchFrequency.setLiveScoreTime(now);
 
                 // Save the updated count (flush removed here)
                 searchFrequencyRepository.save(searchFrequency);
@@ -56,18 +68,39 @@ public class SearchFrequencyService {
                 SearchFrequency newSearchFrequency = new SearchFrequency();
                 newSearchFrequency.setSearchTerm(normalizedSearchTerm);
                 newSearchFrequency.setSearchCount(1);
+                liveScore = 1;
+                newSearchFrequency.setLiveScore(liveScore);
+                newSearchFrequency.setLiveScoreTime(now);
 
                 searchFrequencyRepository.save(newSearchFrequency);
 
                 // Log for debugging
                 System.out.println("New search term added with count 1: " + normalizedSearchTerm);
             }
+
+            // Feed the committed score into the completion ranking, so a rollback cannot leave the search counted
+            double committedScore = liveScore;
+            afterCommit(() -> wordCompletionService.recordSearch(normalizedSearchTerm, committedScore, now));
         } else {
             System.out.println("Search term not found in the provided text.");
         }
     }
 
 
+    // Runs the action once the surrounding transaction commits, or right away outside a transaction
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     /**
      * Retrieves the search count for a specific search term.
      *
@@ -186,7 +219,12 @@ public class SearchFrequencyService {
         if (existingSearch.isPresent()) {
             SearchFrequency searchFrequency = existingSearch.get();
             searchFrequency.setSearchCount(0); // Reset count to 0
+            searchFrequency.setLiveScore(0.0);
+            searchFrequency.setLiveScoreTime(System.currentTimeMillis());
             searchFrequencyRepository.save(searchFrequency);
+
+            // The completion ranking drops the term's popularity too, once the reset is committed
+            afterCommit(() -> wordCompletionService.resetSearch(normalizedSearchTerm));
         }
     }
 }
@@ -1,43 +1,172 @@
 package com.example.laptoprecommendationsystem.service;
 
+import com.example.laptoprecommendationsystem.dto.SuggestionDTO;
 import com.example.laptoprecommendationsystem.model.Laptop;
 import com.example.laptoprecommendationsystem.repository.LaptopRepository;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import com.example.laptoprecommendationsystem.util.BkTree;
+import com.example.laptoprecommendationsystem.util.CompactTrie;
+import com.example.laptoprecommendationsystem.util.Dawg;
+import com.example.laptoprecommendationsystem.util.StreamingXlsxReader;
+import com.example.laptoprecommendationsystem.util.SymSpellIndex;
+import com.example.laptoprecommendationsystem.util.TermArray;
+import com.example.laptoprecommendationsystem.util.TrigramIndex;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.GetMapping;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 public class VocabularyService {
 
-    private Trie trie = new Trie();
-    private Set<String> productNameVocabulary = new HashSet<>();
-    private Set<String> wordVocabulary = new HashSet<>();
+    private static final Logger logger = LoggerFactory.getLogger(VocabularyService.class);
+
+    // Both vocabularies with their frequencies, frozen into one minimal automaton for membership and the files
+    private volatile Dawg vocabulary = Dawg.build(Collections.emptyMap());
+    // Compact prefix tree over the vocabulary with its frequencies, rebuilt whenever it is loaded
+    private volatile CompactTrie completionTrie = new CompactTrie.Builder(CompactTrie.DEFAULT_CACHED_COMPLETIONS).build();
+    // Substring index over the vocabulary's word ordinals, rebuilt whenever it is loaded
+    private volatile TrigramIndex substringIndex = TrigramIndex.build(TermArray.of(Collections.emptyMap()));
+    // Metric tree over the vocabulary's word ordinals for "did you mean" suggestions, rebuilt whenever it is loaded
+    private volatile BkTree suggestionTree = BkTree.of(Collections.emptyMap());
 
     // Load vocab from pre-built vocabulary files
     public void loadVocabularyFromFile() {
-        loadVocabularyFromFile("product_name_vocabulary.txt", productNameVocabulary);
+        // Merged in sorted order straight from the two automata, without collecting the words in a map
+        Dawg merged = Dawg.union(readVocabulary("product_name_vocabulary.txt"), readVocabulary("word_vocabulary.txt"));
+
+        // Spelled out of the automaton once per load, so the per-keystroke indexes share plain strings
+        TermArray words = TermArray.copyOf(merged);
+        // Words are indexed without their frequency (e.g. "hp laptop 14-ep0000ca: 1"), so lookups need no split
+        substringIndex = TrigramIndex.build(words);
+        suggestionTree = BkTree.of(words);
 
+        // Load words into a fresh trie for completions, so reloading does not count them twice
+        CompactTrie.Builder completions = new CompactTrie.Builder(CompactTrie.DEFAULT_CACHED_COMPLETIONS);
+        words.forEach(completions::add);
+        completionTrie = completions.build();
+        vocabulary = merged;
+    }
 
-        // Load words into the Trie for spell check suggestions
-        for (String word : productNameVocabulary) {
-            trie.insert(word);
+    /**
+     * Reads a vocabulary file, preferring the automaton that {@link #saveVocabularyToFile} writes next to it unless
+     * the text file is newer.
+     * @param filePath The text vocabulary file.
+     * @return The vocabulary.
+     */
+    private Dawg readVocabulary(String filePath) {
+        Path text = Path.of(filePath);
+        Path automaton = automatonPath(filePath);
+        try {
+            if (Files.exists(automaton) && (!Files.exists(text)
+                    || !Files.getLastModifiedTime(automaton).toInstant().isBefore(Files.getLastModifiedTime(text).toInstant()))) {
+                return Dawg.read(automaton);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Fall back to the text file rather than fail startup over a bad automaton
+            logger.warn("Ignoring vocabulary automaton {}: {}", automaton, e.getMessage());
         }
-        for (String word : wordVocabulary) {
-            trie.insert(word);
+        Map<String, Long> frequencies = new HashMap<>();
+        loadVocabularyFromFile(filePath, frequencies);
+        return Dawg.build(frequencies);
+    }
+
+    // "word_vocabulary.txt" is frozen into "word_vocabulary.dawg"
+    private static Path automatonPath(String filePath) {
+        int extension = filePath.lastIndexOf('.');
+        return Path.of((extension > 0 ? filePath.substring(0, extension) : filePath) + ".dawg");
+    }
+
+    /**
+     * Checks whether a word is in the vocabulary.
+     * @param word The word, in any case.
+     * @return True if the vocabulary holds the word.
+     */
+    public boolean isKnownWord(String word) {
+        return vocabulary.contains(word.trim().toLowerCase());
+    }
+
+    // Entries of product_name_vocabulary.txt end with ": <frequency>"; plain words count once
+    private static long frequencyOf(String word) {
+        int separator = word.lastIndexOf(':');
+        if (separator >= 0) {
+            String frequency = word.substring(separator + 1).trim();
+            if (frequency.matches("\\d{1,18}")) {
+                return Long.parseLong(frequency);
+            }
         }
+        return 1;
+    }
+
+    private static String stripFrequency(String word) {
+        int separator = word.lastIndexOf(':');
+        if (separator < 0 || !word.substring(separator + 1).trim().matches("\\d+")) {
+            return word;
+        }
+        return word.substring(0, separator).trim();
     }
     @Autowired
     private LaptopRepository laptopRepository;
     @Autowired
     private EditDistanceService editDistanceService;
+    @Autowired
+    private CatalogService catalogService;
+
+    // Symmetric-delete index over product-name words and n-grams, rebuilt when the catalog snapshot changes
+    @Value("${laptop.search.fuzzy.max-distance:3}")
+    private int fuzzyMaxDistance;
+    @Value("${laptop.search.fuzzy.prefix-length:7}")
+    private int fuzzyPrefixLength;
+    @Value("${laptop.search.fuzzy.max-ngram:4}")
+    private int fuzzyMaxNGram;
+    private final AtomicReference<SymSpellIndex> fuzzyIndex = new AtomicReference<>();
+
+    // Rebuilt in the background whenever the catalog publishes a snapshot; searches keep the previous index meanwhile
+    @PostConstruct
+    void watchCatalog() {
+        catalogService.addSnapshotListener(snapshot ->
+                fuzzyIndex.set(SymSpellIndex.build(snapshot, fuzzyMaxDistance, fuzzyPrefixLength, fuzzyMaxNGram)));
+    }
+
+    /**
+     * Suggests vocabulary terms close to a (possibly misspelled) search term, for "did you mean".
+     * @param searchTerm The search term.
+     * @param maxEditDistance The largest accepted edit distance, or null to choose one from the term's length.
+     * @param limit The maximum number of suggestions.
+     * @return The suggestions, closest first and then most frequent first.
+     */
+    public List<SuggestionDTO> suggest(String searchTerm, Integer maxEditDistance, int limit) {
+        String term = searchTerm.trim().toLowerCase();
+        int distance = maxEditDistance != null ? maxEditDistance : determineMaxEditDistance(term);
+        if (distance < 0) {
+            throw new IllegalArgumentException("maxDistance must not be negative");
+        }
+        return suggestionTree.search(term, distance, limit);
+    }
+
+    /**
+     * Completes a (possibly misspelled) prefix to the most frequent vocabulary terms, e.g. "lenvo thin" to
+     * "lenovo thinkpad".
+     * @param prefix The typed prefix.
+     * @param maxEditDistance The largest edit distance between the prefix and the start of a completion.
+     * @param limit The maximum number of completions.
+     * @return The completions, most frequent first.
+     */
+    public List<SuggestionDTO> complete(String prefix, int maxEditDistance, int limit) {
+        if (maxEditDistance < 0) {
+            throw new IllegalArgumentException("maxDistance must not be negative");
+        }
+        return completionTrie.fuzzySearchByPrefix(prefix.trim().toLowerCase(), maxEditDistance, limit);
+    }
 
     int determineMaxEditDistance(String searchTerm) {
         int length = searchTerm.length();
@@ -53,23 +182,54 @@ public class VocabularyService {
 
         // If no exact matches, use edit distance to suggest close matches
         if (laptops.isEmpty()) {
-            laptops = editDistanceService.findMatches(laptopRepository.findAll(), searchTerm, 3 );
+            laptops = findFuzzyMatches(searchTerm, 3);
         }
 
         return laptops;
     }
 
+    /**
+     * Finds laptops whose product name has a word, or an n-gram with as many words as the search term, within the
+     * given edit distance, using the symmetric-delete index instead of comparing against every product name.
+     * @param searchTerm The (possibly misspelled) search term.
+     * @param maxEditDistance The largest accepted edit distance.
+     * @return The matching laptops, closest first.
+     */
+    public List<Laptop> findFuzzyMatches(String searchTerm, int maxEditDistance) {
+        SymSpellIndex index = fuzzyIndex();
+        if (maxEditDistance > fuzzyMaxDistance || index.exceedsNGramLength(searchTerm)) {
+            // Outside what the index covers; compare against every product name
+            return editDistanceService.findMatches(index.getSnapshot(), searchTerm, maxEditDistance);
+        }
+        List<SymSpellIndex.Match> matches = index.lookup(searchTerm, maxEditDistance);
+        List<Laptop> laptops = new ArrayList<>(matches.size());
+        for (SymSpellIndex.Match match : matches) {
+            laptops.add(index.getSnapshot().laptopAt(match.getRow()));
+        }
+        return laptops;
+    }
+
+    private SymSpellIndex fuzzyIndex() {
+        SymSpellIndex index = fuzzyIndex.get();
+        if (index != null) {
+            return index;
+        }
+        // Only the first search before any background build has to wait; a newer background result wins
+        index = SymSpellIndex.build(catalogService.getSnapshot(), fuzzyMaxDistance, fuzzyPrefixLength, fuzzyMaxNGram);
+        return fuzzyIndex.compareAndSet(null, index) ? index : fuzzyIndex.get();
+    }
+
 
 
 
-    // Helper method to read words from a file and add them to the set
-    private void loadVocabularyFromFile(String filePath, Set<String> vocabularySet) {
+    // Helper method to read words from a file and add them to the map with their frequencies
+    private void loadVocabularyFromFile(String filePath, Map<String, Long> frequencies) {
         try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 String word = line.trim().toLowerCase();
                 if (!word.isEmpty()) {
-                    vocabularySet.add(word);
+                    frequencies.merge(stripFrequency(word), frequencyOf(word), Long::sum);
                 }
             }
         } catch (IOException e) {
@@ -79,13 +239,8 @@ public class VocabularyService {
 
     // Method to get words containing the input word as a substring from vocabulary
     public Set<String> getWordsContaining(String inputWord) {
-        String lowerCaseInput = inputWord.toLowerCase();
-
-        // Combine and filter matching words from both vocabularies, removing frequencies
-        return Stream.concat(productNameVocabulary.stream(), wordVocabulary.stream())
-                .filter(word -> word.toLowerCase().contains(lowerCaseInput))
-                .map(word -> word.split(":")[0].trim()) // Remove frequency after ':' if present
-                .collect(Collectors.toSet());
+        // Trigram lookup instead of scanning both vocabularies; words are stored lower-cased and without frequencies
+        return new LinkedHashSet<>(substringIndex.search(inputWord.toLowerCase()));
     }
 
 
@@ -112,16 +267,12 @@ public class VocabularyService {
         Set<String> wordVocabulary = new HashSet<>();  // Use Set to store unique words
         Pattern pattern = Pattern.compile("\\b\\w+\\b");
 
-        try (FileInputStream fis = new FileInputStream(filePath)) {
-            Workbook workbook = new XSSFWorkbook(fis);
-            Sheet sheet = workbook.getSheetAt(0);
-
-            for (Row row : sheet) {
-                for (Cell cell : row) {
-                    String cellValue = getCellValueAsString(cell);
+        try {
+            // Stream the sheet row by row rather than loading the whole workbook
+            StreamingXlsxReader.read(filePath, (rowIndex, cells) -> {
+                for (String cellValue : cells) {
                     if (cellValue != null) {
-                        cellValue = cellValue.toLowerCase();
-                        var matcher = pattern.matcher(cellValue);
+                        var matcher = pattern.matcher(cellValue.toLowerCase());
 
                         while (matcher.find()) {
                             String word = matcher.group();
@@ -129,8 +280,7 @@ public class VocabularyService {
                         }
                     }
                 }
-            }
-            workbook.close();
+            });
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -138,23 +288,6 @@ public class VocabularyService {
         return wordVocabulary;
     }
 
-    // Helper method to get the cell value as a String
-    private String getCellValueAsString(Cell cell) {
-        if (cell == null) {
-            return null;
-        }
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue();
-            case NUMERIC:
-                return String.valueOf(cell.getNumericCellValue());
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            default:
-                return null;
-        }
-    }
-
     // Method to save vocabulary to a file
     public void saveVocabularyToFile(Set<String> vocabulary, String outputFilePath) {
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputFilePath))) {
@@ -166,5 +299,19 @@ public class VocabularyService {
         } catch (IOException e) {
             e.printStackTrace();
         }
+
+        // Freeze the same entries into an automaton next to the text file, which loading prefers
+        Map<String, Long> frequencies = new HashMap<>();
+        for (String word : vocabulary) {
+            String entry = word.trim().toLowerCase();
+            if (!entry.isEmpty()) {
+                frequencies.merge(stripFrequency(entry), frequencyOf(entry), Long::sum);
+            }
+        }
+        try {
+            Dawg.build(frequencies).write(automatonPath(outputFilePath));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 }
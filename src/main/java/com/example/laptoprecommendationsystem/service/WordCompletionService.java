@@ -1,24 +1,211 @@
 package com.example.laptoprecommendationsystem.service;
 
+import com.example.laptoprecommendationsystem.model.SearchFrequency;
+import com.example.laptoprecommendationsystem.repository.SearchFrequencyRepository;
 import com.example.laptoprecommendationsystem.util.AVLTreeUtil;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 @Service
 public class WordCompletionService {
 
+    private static final Logger logger = LoggerFactory.getLogger(WordCompletionService.class);
 
-    private final AVLTreeUtil avlTree = new AVLTreeUtil();
+    @Autowired
+    private SearchFrequencyRepository searchFrequencyRepository;
 
-    public void buildVocabulary(Map<String, Integer> vocabulary) {
-        for (Map.Entry<String, Integer> entry : vocabulary.entrySet()) {
-            avlTree.insert(entry.getKey(), entry.getValue());
+    // Score of a completion: vocabulary weight + live-weight * search count decayed with the half-life
+    private final double liveWeight;
+    private final double halfLifeMinutes;
+
+    public WordCompletionService(@Value("${laptop.completion.live-weight:1.0}") double liveWeight,
+                                 @Value("${laptop.completion.half-life-minutes:60}") double halfLifeMinutes) {
+        if (!(halfLifeMinutes > 0)) {
+            throw new IllegalArgumentException("laptop.completion.half-life-minutes must be positive");
+        }
+        if (!(liveWeight >= 0)) {
+            throw new IllegalArgumentException("laptop.completion.live-weight must not be negative");
+        }
+        this.liveWeight = liveWeight;
+        this.halfLifeMinutes = halfLifeMinutes;
+    }
+
+    // A built tree with how long it took; the tree is never modified once published
+    private static final class Completions {
+        final AVLTreeUtil tree;
+        final long buildMillis;
+        // Live counts are kept relative to this time; a search at t adds 2^((t - epochStart) / half-life)
+        final long epochStart;
+
+        Completions(AVLTreeUtil tree, long buildMillis, long epochStart) {
+            this.tree = tree;
+            this.buildMillis = buildMillis;
+            this.epochStart = epochStart;
+        }
+    }
+
+    // A change to the live counts, expressed against the epoch of whichever tree it is applied to
+    private interface LiveUpdate {
+        AVLTreeUtil applyTo(AVLTreeUtil tree, long epochStart);
+    }
+
+    // Replaced as a whole on every build and search, so readers need no locking and never see a partly built tree
+    private final AtomicReference<Completions> completions =
+            new AtomicReference<>(new Completions(AVLTreeUtil.of(Collections.emptyMap()), 0, System.currentTimeMillis()));
+    // Updates hold the read lock, so they still run side by side; publishing a build holds the write lock
+    private final ReentrantReadWriteLock publishLock = new ReentrantReadWriteLock();
+    // Updates made while a build runs, re-applied to the new tree when it is published; null between builds
+    private volatile Queue<LiveUpdate> updatesDuringBuild;
+
+    /**
+     * Builds a new completion tree from the vocabulary and the persisted live scores and publishes it in one
+     * reference swap. Suggestions keep using the previous tree until then, and the new tree replaces it rather than
+     * adding to its frequencies. Updates made during the build are applied to the new tree before it is published,
+     * so none are lost.
+     * @param vocabulary The words with their frequencies.
+     * @return The size and build time of the new tree.
+     */
+    public synchronized Map<String, Long> buildVocabulary(Map<String, Integer> vocabulary) {
+        long start = System.nanoTime();
+        Queue<LiveUpdate> recorded = new ConcurrentLinkedQueue<>();
+        publishLock.writeLock().lock();
+        try {
+            updatesDuringBuild = recorded;
+        } finally {
+            publishLock.writeLock().unlock();
+        }
+
+        // Each score is decayed from the time of its last search, so old popularity does not come back at full weight.
+        // A search committed after the log was armed may be both read here and logged; replaying it is a no-op.
+        long epochStart = System.currentTimeMillis();
+        Map<String, Double> liveCounts = new HashMap<>();
+        for (SearchFrequency searchFrequency : searchFrequencyRepository.findAll()) {
+            Double liveScore = searchFrequency.getLiveScore();
+            if (liveScore != null && liveScore > 0 && searchFrequency.getLiveScoreTime() != null) {
+                liveCounts.put(searchFrequency.getSearchTerm(), liveScore * weight(searchFrequency.getLiveScoreTime(), epochStart));
+            }
+        }
+        AVLTreeUtil tree = AVLTreeUtil.of(vocabulary, liveCounts, liveWeight);
+
+        Completions built;
+        publishLock.writeLock().lock();
+        try {
+            // No update is between changing the old tree and logging itself here, so the log is complete
+            for (LiveUpdate update : recorded) {
+                tree = update.applyTo(tree, epochStart);
+            }
+            built = new Completions(tree, (System.nanoTime() - start) / 1_000_000, epochStart);
+            updatesDuringBuild = null;
+            completions.set(built);
+        } finally {
+            publishLock.writeLock().unlock();
         }
+        logger.info("Built word completion tree with {} words (height {}) in {} ms", tree.size(), tree.height(),
+                built.buildMillis);
+        return stats(built);
     }
 
+    /**
+     * Raises the popularity of a term to the live score committed for its latest search, if the term is a
+     * completion. Other terms are ignored, so tracked searches cannot add completions. Only the path to the term is
+     * copied, so suggestions follow demand immediately without a rebuild.
+     * <p>The committed score already includes every earlier search, so it is applied as a maximum rather than added.
+     * Applying it twice, or to a tree seeded from a database read that already saw it, counts the search once.
+     * @param searchTerm The normalized search term.
+     * @param liveScore The term's committed live score, see {@link #decayedScore}.
+     * @param scoreTime When that score was computed, in epoch milliseconds.
+     */
+    public void recordSearch(String searchTerm, double liveScore, long scoreTime) {
+        // Scores only grow in epoch units as searches are added, so the largest is the latest
+        apply((tree, epochStart) -> tree.withLiveCount(searchTerm,
+                live -> Math.max(live, liveScore * weight(scoreTime, epochStart))), System.currentTimeMillis());
+    }
+
+    /**
+     * Clears the live popularity of a term, as {@link SearchFrequencyService#resetSearchCount} does for its count.
+     * @param searchTerm The normalized search term.
+     */
+    public void resetSearch(String searchTerm) {
+        apply((tree, epochStart) -> tree.withLiveCount(searchTerm, live -> 0), System.currentTimeMillis());
+    }
+
+    /**
+     * Decays a persisted live score to a later time with the completion half-life.
+     * @param liveScore The score, or null if none was recorded.
+     * @param scoreTime When the score was last updated, in epoch milliseconds.
+     * @param now The time to decay to, in epoch milliseconds.
+     * @return The decayed score, or 0 if none was recorded.
+     */
+    public double decayedScore(Double liveScore, Long scoreTime, long now) {
+        return liveScore == null || scoreTime == null ? 0 : liveScore * weight(scoreTime, now);
+    }
+
+    // Swaps in the updated tree and, while a build runs, logs the update for the new tree
+    private void apply(LiveUpdate update, long now) {
+        publishLock.readLock().lock();
+        try {
+            while (true) {
+                Completions current = completions.get();
+                AVLTreeUtil tree = current.tree;
+                long epochStart = current.epochStart;
+                // Once a search would count more than double, apply the decay so far to every count and start a new epoch
+                if (now - epochStart >= halfLifeMinutes * 60_000) {
+                    tree = tree.withLiveCountsScaled(weight(epochStart, now));
+                    epochStart = now;
+                }
+                Completions updated = new Completions(update.applyTo(tree, epochStart), current.buildMillis, epochStart);
+                if (completions.compareAndSet(current, updated)) {
+                    break;
+                }
+            }
+            Queue<LiveUpdate> recorded = updatesDuringBuild;
+            if (recorded != null) {
+                recorded.add(update);
+            }
+        } finally {
+            publishLock.readLock().unlock();
+        }
+    }
+
+    // What a search at 'time' counts in units of the epoch starting at 'epochStart': 2^((time - epochStart) / half-life)
+    private double weight(long time, long epochStart) {
+        return Math.pow(2, (time - epochStart) / (halfLifeMinutes * 60_000));
+    }
+
+    /**
+     * Get the highest-scoring completions of a prefix, with live counts decayed to the current time.
+     * @param prefix The typed prefix.
+     * @param topK The maximum number of completions.
+     * @return The completions as "word: score", highest score first.
+     */
     public List<String> getSuggestions(String prefix, int topK) {
-        return avlTree.getTopCompletions(prefix, topK);
+        Completions current = completions.get();
+        // Counts are stored in units of their epoch; a search made now is worth 2^((now - epochStart) / half-life) of them
+        return current.tree.getTopCompletions(prefix, topK, weight(current.epochStart, System.currentTimeMillis()));
+    }
+
+    /**
+     * Get the size and build time of the current completion tree.
+     * @return The statistics by name.
+     */
+    public Map<String, Long> getStats() {
+        return stats(completions.get());
+    }
+
+    private static Map<String, Long> stats(Completions current) {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("words", (long) current.tree.size());
+        stats.put("height", (long) current.tree.height());
+        stats.put("buildMillis", current.buildMillis);
+        return stats;
     }
 }
@@ -1,119 +1,249 @@
 package com.example.laptoprecommendationsystem.util;
 
 import java.util.*;
-
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Persistent AVL tree of completion words ranked by a static vocabulary weight blended with a decaying live
+ * popularity count.
+ * Nodes are never modified: an update copies the O(log n) nodes on the path to the word and shares the rest, so a
+ * published tree can be read without locks while updated versions are swapped in.
+ */
 public class AVLTreeUtil {
     // Node class for AVL tree
-    static class Node {
-        String word;
-        int frequency;
-        int height;
-        Node left, right;
-
-        Node(String word, int frequency) {
+    static final class Node {
+        final String word;
+        final int frequency;      // Static weight from the vocabulary
+        final double live;        // Live popularity count, before the decay applied when reading
+        final int maxFrequency;   // Highest static weight in this subtree
+        final double maxLive;     // Highest live count in this subtree
+        final int height;
+        final Node left, right;
+
+        Node(String word, int frequency, double live, Node left, Node right) {
             this.word = word;
             this.frequency = frequency;
-            this.height = 1;
+            this.live = live;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(height(left), height(right));
+            this.maxFrequency = Math.max(frequency, Math.max(maxFrequency(left), maxFrequency(right)));
+            this.maxLive = Math.max(live, Math.max(maxLive(left), maxLive(right)));
         }
     }
 
     // AVL tree implementation
 
-        private Node root;
+        private final Node root;
+        private final int size;
+        private final double liveWeight;
 
-        public void insert(String word, int frequency) {
-            root = insert(root, word, frequency);
+        private AVLTreeUtil(Node root, int size, double liveWeight) {
+            this.root = root;
+            this.size = size;
+            this.liveWeight = liveWeight;
         }
 
-        private Node insert(Node node, String word, int frequency) {
-            if (node == null) {
-                return new Node(word, frequency);
-            }
+        /**
+         * Builds a balanced tree directly from the words, without inserting them one by one.
+         * @param frequencies The words with their frequencies.
+         * @return The tree.
+         */
+        public static AVLTreeUtil of(Map<String, Integer> frequencies) {
+            return of(frequencies, Collections.emptyMap(), 1);
+        }
 
-            if (word.equals(node.word)) {
-                node.frequency += frequency;
-                return node;
+        /**
+         * Builds a balanced tree directly from the words, without inserting them one by one.
+         * @param frequencies The words with their static weights.
+         * @param liveCounts Live popularity counts; counts of words missing from the vocabulary are ignored.
+         * @param liveWeight How much one live count adds to a word's score.
+         * @return The tree.
+         */
+        public static AVLTreeUtil of(Map<String, Integer> frequencies, Map<String, Double> liveCounts, double liveWeight) {
+            TreeSet<String> sorted = new TreeSet<>(frequencies.keySet());
+            String[] words = sorted.toArray(new String[0]);
+            int[] weights = new int[words.length];
+            double[] live = new double[words.length];
+            for (int i = 0; i < words.length; i++) {
+                weights[i] = frequencies.getOrDefault(words[i], 0);
+                live[i] = liveCounts.getOrDefault(words[i], 0.0);
             }
+            return new AVLTreeUtil(build(words, weights, live, 0, words.length), words.length, liveWeight);
+        }
 
-            if (word.compareTo(node.word) < 0) {
-                node.left = insert(node.left, word, frequency);
-            } else {
-                node.right = insert(node.right, word, frequency);
+        // The middle word of the sorted range becomes the root, so both sides differ in height by at most one
+        private static Node build(String[] words, int[] weights, double[] live, int from, int to) {
+            if (from >= to) {
+                return null;
             }
+            int middle = (from + to) >>> 1;
+            return new Node(words[middle], weights[middle], live[middle],
+                    build(words, weights, live, from, middle),
+                    build(words, weights, live, middle + 1, to));
+        }
 
-            node.height = 1 + Math.max(height(node.left), height(node.right));
-            return balance(node);
+        /**
+         * @return The number of distinct words.
+         */
+        public int size() {
+            return size;
         }
 
-        public List<String> getTopCompletions(String prefix, int k) {
-            PriorityQueue<Node> minHeap = new PriorityQueue<>(Comparator.comparingInt(n -> n.frequency));
-            collectWordsWithPrefix(root, prefix, minHeap, k);
+        public int height() {
+            return height(root);
+        }
 
-            List<String> result = new ArrayList<>();
-            while (!minHeap.isEmpty()) {
-                Node node = minHeap.poll();
-                result.add(node.word + ": " + node.frequency);
+        /**
+         * Adds to a word's live count. Words outside the vocabulary are ignored, so searches never add completions
+         * and the tree keeps the vocabulary's size and shape.
+         * @param word The word.
+         * @param amount The amount to add.
+         * @return The updated tree, or this tree if the word is not in it; this tree is unchanged.
+         */
+        public AVLTreeUtil withLiveCount(String word, double amount) {
+            return withLiveCount(word, live -> live + amount);
+        }
+
+        /**
+         * Replaces a word's live count, e.g. to reset it. Words outside the vocabulary are ignored.
+         * @param word The word.
+         * @param update Computes the new live count, never negative, from the current one.
+         * @return The updated tree, or this tree if the word is not in it; this tree is unchanged.
+         */
+        public AVLTreeUtil withLiveCount(String word, DoubleUnaryOperator update) {
+            if (!contains(root, word)) {
+                return this;
             }
-            Collections.reverse(result);
-            return result;
+            return new AVLTreeUtil(updateLive(root, word, update), size, liveWeight);
         }
 
-        private void collectWordsWithPrefix(Node node, String prefix, PriorityQueue<Node> minHeap, int k) {
-            if (node == null) return;
+        /**
+         * Multiplies every live count by a factor, e.g. to apply the decay accumulated since the last rescale.
+         * @param factor The factor.
+         * @return The rescaled tree; this tree is unchanged.
+         */
+        public AVLTreeUtil withLiveCountsScaled(double factor) {
+            return new AVLTreeUtil(scale(root, factor), size, liveWeight);
+        }
+
+        private Node scale(Node node, double factor) {
+            if (node == null) {
+                return null;
+            }
+            return new Node(node.word, node.frequency, node.live * factor,
+                    scale(node.left, factor), scale(node.right, factor));
+        }
 
-            if (node.word.startsWith(prefix)) {
-                if (minHeap.size() < k) {
-                    minHeap.offer(node);
-                } else if (node.frequency > minHeap.peek().frequency) {
-                    minHeap.poll();
-                    minHeap.offer(node);
+        private static boolean contains(Node node, String word) {
+            while (node != null) {
+                int comparison = word.compareTo(node.word);
+                if (comparison == 0) {
+                    return true;
                 }
+                node = comparison < 0 ? node.left : node.right;
             }
+            return false;
+        }
 
-            collectWordsWithPrefix(node.left, prefix, minHeap, k);
-            collectWordsWithPrefix(node.right, prefix, minHeap, k);
+        // Copies the path to a word that is in the tree; the shape does not change, so no rebalancing is needed
+        private Node updateLive(Node node, String word, DoubleUnaryOperator update) {
+            int comparison = word.compareTo(node.word);
+            if (comparison == 0) {
+                return new Node(node.word, node.frequency, update.applyAsDouble(node.live), node.left, node.right);
+            }
+            if (comparison < 0) {
+                return withChildren(node, updateLive(node.left, word, update), node.right);
+            }
+            return withChildren(node, node.left, updateLive(node.right, word, update));
         }
 
-        private int height(Node node) {
-            return node == null ? 0 : node.height;
+        private Node withChildren(Node node, Node left, Node right) {
+            return new Node(node.word, node.frequency, node.live, left, right);
         }
 
-        private int getBalance(Node node) {
-            return node == null ? 0 : height(node.left) - height(node.right);
+        /**
+         * Finds the highest-scoring words with a prefix, with live counts taken as they are.
+         * @param prefix The prefix.
+         * @param k The maximum number of completions.
+         * @return The completions as "word: score", highest score first, then alphabetically.
+         */
+        public List<String> getTopCompletions(String prefix, int k) {
+            return getTopCompletions(prefix, k, 1);
         }
 
-        private Node rotateRight(Node y) {
-            Node x = y.left;
-            Node T2 = x.right;
-            x.right = y;
-            y.left = T2;
-            y.height = Math.max(height(y.left), height(y.right)) + 1;
-            x.height = Math.max(height(x.left), height(x.right)) + 1;
-            return x;
+        /**
+         * Finds the highest-scoring words with a prefix, where a word scores its static weight plus live-weight times
+         * its decayed live count. Only the subtrees that overlap the range of words starting with the prefix are
+         * entered, and they are expanded best-first by the highest static weight plus the highest decayed live count
+         * below them. That bound is never below a score in the subtree, so the result is exact, and the search stops
+         * after k words instead of visiting every node.
+         * @param prefix The prefix.
+         * @param k The maximum number of completions.
+         * @param decay Factor applied to every live count, e.g. 2^-(time since the counts' epoch / half-life).
+         * @return The completions as "word: score", highest score first, then alphabetically.
+         */
+        public List<String> getTopCompletions(String prefix, int k, double decay) {
+            double liveFactor = liveWeight * decay;
+            // Subtrees are ordered by their bound and come before words of the same score, so ties are settled
+            PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator.<Candidate>comparingDouble(c -> -c.priority)
+                    .thenComparing(c -> c.isWord)
+                    .thenComparing(c -> c.node.word));
+            if (root != null) {
+                queue.offer(new Candidate(root, false, bound(root, liveFactor)));
+            }
+
+            List<String> result = new ArrayList<>();
+            while (!queue.isEmpty() && result.size() < k) {
+                Candidate candidate = queue.poll();
+                Node node = candidate.node;
+                if (candidate.isWord) {
+                    result.add(node.word + ": " + Math.round(candidate.priority));
+                    continue;
+                }
+                int comparison = node.word.compareTo(prefix);
+                boolean inRange = node.word.startsWith(prefix);
+                if (inRange) {
+                    queue.offer(new Candidate(node, true, node.frequency + liveFactor * node.live));
+                }
+                // Words with the prefix are never smaller than the prefix, nor larger than a greater word without it
+                if (node.left != null && comparison > 0) {
+                    queue.offer(new Candidate(node.left, false, bound(node.left, liveFactor)));
+                }
+                if (node.right != null && (comparison < 0 || inRange)) {
+                    queue.offer(new Candidate(node.right, false, bound(node.right, liveFactor)));
+                }
+            }
+            return result;
         }
 
-        private Node rotateLeft(Node x) {
-            Node y = x.right;
-            Node T2 = y.left;
-            y.left = x;
-            x.right = T2;
-            x.height = Math.max(height(x.left), height(x.right)) + 1;
-            y.height = Math.max(height(y.left), height(y.right)) + 1;
-            return y;
+        // Highest score any word in the subtree can have; live counts are never negative
+        private static double bound(Node node, double liveFactor) {
+            return node.maxFrequency + liveFactor * node.maxLive;
         }
 
-        private Node balance(Node node) {
-            int balanceFactor = getBalance(node);
-            if (balanceFactor > 1 && getBalance(node.left) >= 0) return rotateRight(node);
-            if (balanceFactor > 1 && getBalance(node.left) < 0) {
-                node.left = rotateLeft(node.left);
-                return rotateRight(node);
-            }
-            if (balanceFactor < -1 && getBalance(node.right) <= 0) return rotateLeft(node);
-            if (balanceFactor < -1 && getBalance(node.right) > 0) {
-                node.right = rotateRight(node.right);
-                return rotateLeft(node);
+        // A subtree to expand or a word to report, with its score bound
+        private static final class Candidate {
+            final Node node;
+            final boolean isWord;
+            final double priority;
+
+            Candidate(Node node, boolean isWord, double priority) {
+                this.node = node;
+                this.isWord = isWord;
+                this.priority = priority;
             }
-            return node;
+        }
+
+        private static int maxFrequency(Node node) {
+            return node == null ? Integer.MIN_VALUE : node.maxFrequency;
+        }
+
+        private static double maxLive(Node node) {
+            return node == null ? Double.NEGATIVE_INFINITY : node.maxLive;
+        }
+
+        private static int height(Node node) {
+            return node == null ? 0 : node.height;
         }
     }
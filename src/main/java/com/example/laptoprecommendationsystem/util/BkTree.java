@@ -0,0 +1,148 @@
+package com.example.laptoprecommendationsystem.util;
+
+import com.example.laptoprecommendationsystem.dto.SuggestionDTO;
+
+import java.util.*;
+
+/**
+ * Burkhard-Keller tree over vocabulary terms under the Levenshtein distance.
+ * Each child hangs off its parent under its distance to the parent's term. By the triangle inequality, a term within
+ * d of the query can only be below an edge whose distance differs by at most d from the query's distance to the
+ * parent, so a lookup visits only those subtrees instead of every term.
+ */
+public final class BkTree {
+
+    private static final class Node {
+        final int term; // Ordinal in the term array
+        // Children sorted by edge distance; the distances are small, so a linear scan beats a map
+        int[] distances = new int[0];
+        Node[] children = new Node[0];
+
+        Node(int term) {
+            this.term = term;
+        }
+
+        Node child(int distance) {
+            for (int i = 0; i < distances.length; i++) {
+                if (distances[i] == distance) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        void addChild(int distance, Node child) {
+            int position = 0;
+            while (position < distances.length && distances[position] < distance) {
+                position++;
+            }
+            int[] grownDistances = new int[distances.length + 1];
+            Node[] grownChildren = new Node[children.length + 1];
+            System.arraycopy(distances, 0, grownDistances, 0, position);
+            System.arraycopy(children, 0, grownChildren, 0, position);
+            grownDistances[position] = distance;
+            grownChildren[position] = child;
+            System.arraycopy(distances, position, grownDistances, position + 1, distances.length - position);
+            System.arraycopy(children, position, grownChildren, position + 1, children.length - position);
+            distances = grownDistances;
+            children = grownChildren;
+        }
+    }
+
+    // Shared with the other indexes over the same vocabulary; nodes only hold ordinals into it
+    private final TermArray terms;
+    private Node root;
+    private int size;
+
+    private BkTree(TermArray terms) {
+        this.terms = terms;
+    }
+
+    /**
+     * Builds a tree over the given terms.
+     * @param frequencies The terms, lower-cased, with their frequencies.
+     * @return The tree.
+     */
+    public static BkTree of(Map<String, Long> frequencies) {
+        return of(TermArray.of(frequencies));
+    }
+
+    /**
+     * Builds a tree over every term of a dictionary. Nodes hold term ordinals into the dictionary's
+     * {@link TermArray} form, which is copied once here unless the dictionary already is one.
+     * @param dictionary The lower-cased terms with their frequencies.
+     * @return The tree.
+     */
+    public static BkTree of(TermDictionary dictionary) {
+        BkTree tree = new BkTree(TermArray.copyOf(dictionary));
+        for (int term = 0; term < dictionary.size(); term++) {
+            tree.add(term);
+        }
+        return tree;
+    }
+
+    // Dictionary terms are distinct, so every term gets its own node
+    private void add(int term) {
+        if (root == null) {
+            root = new Node(term);
+            size++;
+            return;
+        }
+        String value = terms.terms[term];
+        Node node = root;
+        while (true) {
+            int distance = StringDistance.levenshtein(value, terms.terms[node.term]);
+            Node child = node.child(distance);
+            if (child == null) {
+                node.addChild(distance, new Node(term));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Finds the terms within a maximum edit distance of the query.
+     * @param query The lower-cased query.
+     * @param maxDistance The largest accepted edit distance.
+     * @param limit The maximum number of suggestions.
+     * @return The closest terms, ordered by distance, then by descending frequency, then alphabetically.
+     */
+    public List<SuggestionDTO> search(String query, int maxDistance, int limit) {
+        List<SuggestionDTO> found = new ArrayList<>();
+        if (root == null || limit <= 0) {
+            return found;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            String term = terms.terms[node.term];
+            int distance = StringDistance.levenshtein(query, term);
+            if (distance <= maxDistance) {
+                found.add(new SuggestionDTO(term, distance, terms.frequencies[node.term]));
+            }
+            for (int i = 0; i < node.distances.length; i++) {
+                int edge = node.distances[i];
+                if (edge > distance + maxDistance) {
+                    break;
+                }
+                if (edge >= distance - maxDistance) {
+                    pending.push(node.children[i]);
+                }
+            }
+        }
+        found.sort(Comparator.comparingInt(SuggestionDTO::getDistance)
+                .thenComparing(Comparator.comparingLong(SuggestionDTO::getFrequency).reversed())
+                .thenComparing(SuggestionDTO::getTerm));
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    /**
+     * @return The number of distinct terms.
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.laptoprecommendationsystem.util;
+
+import com.example.laptoprecommendationsystem.model.Laptop;
+
+import java.util.*;
+
+/**
+ * Immutable, column-oriented view of the laptop catalog.
+ * Specs are read once when a row enters the snapshot, so filtering only touches primitive arrays.
+ * Mutations never change an existing snapshot; they return a new one that shares nothing mutable with it.
+ */
+public final class CatalogSnapshot {
+
+    private final Laptop[] laptops;
+    private final long[] ids;
+    private final double[] prices;
+    private final int[] ramGb;
+    private final int[] storageGb;
+    private final float[] screenInches;
+    private final int[] brandIds;
+    private final String[] brandDictionary; // Lower-cased distinct brand names, indexed by brand id
+    private volatile FacetIndex facetIndex;
+    private volatile LaptopFeatures features;
+
+    private CatalogSnapshot(Laptop[] laptops, long[] ids, double[] prices, int[] ramGb, int[] storageGb,
+                            float[] screenInches, int[] brandIds, String[] brandDictionary) {
+        this.laptops = laptops;
+        this.ids = ids;
+        this.prices = prices;
+        this.ramGb = ramGb;
+        this.storageGb = storageGb;
+        this.screenInches = screenInches;
+        this.brandIds = brandIds;
+        this.brandDictionary = brandDictionary;
+    }
+
+    /**
+     * Builds a snapshot from a list of persisted laptops. Rows are ordered by id.
+     * @param source The laptops to include.
+     * @return A new snapshot.
+     */
+    public static CatalogSnapshot of(List<Laptop> source) {
+        List<Laptop> sorted = new ArrayList<>(source.size());
+        for (Laptop laptop : source) {
+            if (laptop != null && laptop.getId() != null) {
+                sorted.add(laptop);
+            }
+        }
+        sorted.sort(Comparator.comparing(Laptop::getId));
+
+        int n = sorted.size();
+        Laptop[] laptops = new Laptop[n];
+        long[] ids = new long[n];
+        double[] prices = new double[n];
+        int[] ramGb = new int[n];
+        int[] storageGb = new int[n];
+        float[] screenInches = new float[n];
+        int[] brandIds = new int[n];
+        Map<String, Integer> brandLookup = new HashMap<>();
+        List<String> brandDictionary = new ArrayList<>();
+
+        for (int row = 0; row < n; row++) {
+            Laptop laptop = sorted.get(row);
+            laptops[row] = laptop;
+            ids[row] = laptop.getId();
+            prices[row] = laptop.getPrice();
+            ramGb[row] = ramGb(laptop);
+            storageGb[row] = storageGb(laptop);
+            screenInches[row] = screenInches(laptop);
+            brandIds[row] = brandId(laptop.getBrandName(), brandLookup, brandDictionary);
+        }
+
+        return new CatalogSnapshot(laptops, ids, prices, ramGb, storageGb, screenInches, brandIds,
+                brandDictionary.toArray(new String[0]));
+    }
+
+    // Prefer the typed columns populated at ingest and only parse rows that predate them
+    private static int ramGb(Laptop laptop) {
+        return laptop.getRamGb() != null ? laptop.getRamGb() : SpecParser.parseMemory(laptop.getMemory());
+    }
+
+    private static int storageGb(Laptop laptop) {
+        return laptop.getStorageGb() != null ? laptop.getStorageGb() : SpecParser.parseStorage(laptop.getStorage());
+    }
+
+    private static float screenInches(Laptop laptop) {
+        return laptop.getScreenInches() != null ? laptop.getScreenInches().floatValue() : (float) SpecParser.parseScreenInches(laptop.getDisplay());
+    }
+
+    private static int brandId(String brandName, Map<String, Integer> brandLookup, List<String> brandDictionary) {
+        if (brandName == null) {
+            return -1;
+        }
+        return brandLookup.computeIfAbsent(brandName.toLowerCase(), key -> {
+            brandDictionary.add(key);
+            return brandDictionary.size() - 1;
+        });
+    }
+
+    /**
+     * Returns a copy of this snapshot with the given laptop inserted, or replaced if its id is already present.
+     * @param laptop The saved laptop.
+     * @return A new snapshot.
+     */
+    public CatalogSnapshot withLaptop(Laptop laptop) {
+        int existing = rowOf(laptop.getId());
+        int n = laptops.length;
+        int row = existing >= 0 ? existing : -(existing + 1);
+        int newSize = existing >= 0 ? n : n + 1;
+
+        Laptop[] newLaptops = new Laptop[newSize];
+        long[] newIds = new long[newSize];
+        double[] newPrices = new double[newSize];
+        int[] newRam = new int[newSize];
+        int[] newStorage = new int[newSize];
+        float[] newScreens = new float[newSize];
+        int[] newBrandIds = new int[newSize];
+
+        // Copy everything before the affected row, then everything after it (shifted by one on insert)
+        int tail = existing >= 0 ? row + 1 : row;
+        int shift = newSize - n;
+        copyRows(0, 0, row, newLaptops, newIds, newPrices, newRam, newStorage, newScreens, newBrandIds);
+        copyRows(tail, tail + shift, n - tail, newLaptops, newIds, newPrices, newRam, newStorage, newScreens, newBrandIds);
+
+        String[] newDictionary = brandDictionary;
+        int brandId = -1;
+        if (laptop.getBrandName() != null) {
+            String brand = laptop.getBrandName().toLowerCase();
+            brandId = Arrays.asList(brandDictionary).indexOf(brand);
+            if (brandId < 0) {
+                newDictionary = Arrays.copyOf(brandDictionary, brandDictionary.length + 1);
+                brandId = brandDictionary.length;
+                newDictionary[brandId] = brand;
+            }
+        }
+
+        newLaptops[row] = laptop;
+        newIds[row] = laptop.getId();
+        newPrices[row] = laptop.getPrice();
+        newRam[row] = ramGb(laptop);
+        newStorage[row] = storageGb(laptop);
+        newScreens[row] = screenInches(laptop);
+        newBrandIds[row] = brandId;
+
+        return new CatalogSnapshot(newLaptops, newIds, newPrices, newRam, newStorage, newScreens, newBrandIds, newDictionary);
+    }
+
+    /**
+     * Returns a copy of this snapshot without the laptop with the given id.
+     * @param id The id of the deleted laptop.
+     * @return A new snapshot, or this snapshot if the id is not present.
+     */
+    public CatalogSnapshot withoutLaptop(Long id) {
+        int row = rowOf(id);
+        if (row < 0) {
+            return this;
+        }
+        int newSize = laptops.length - 1;
+        Laptop[] newLaptops = new Laptop[newSize];
+        long[] newIds = new long[newSize];
+        double[] newPrices = new double[newSize];
+        int[] newRam = new int[newSize];
+        int[] newStorage = new int[newSize];
+        float[] newScreens = new float[newSize];
+        int[] newBrandIds = new int[newSize];
+
+        copyRows(0, 0, row, newLaptops, newIds, newPrices, newRam, newStorage, newScreens, newBrandIds);
+        copyRows(row + 1, row, newSize - row, newLaptops, newIds, newPrices, newRam, newStorage, newScreens, newBrandIds);
+
+        return new CatalogSnapshot(newLaptops, newIds, newPrices, newRam, newStorage, newScreens, newBrandIds, brandDictionary);
+    }
+
+    private void copyRows(int from, int to, int length, Laptop[] newLaptops, long[] newIds, double[] newPrices,
+                          int[] newRam, int[] newStorage, float[] newScreens, int[] newBrandIds) {
+        System.arraycopy(laptops, from, newLaptops, to, length);
+        System.arraycopy(ids, from, newIds, to, length);
+        System.arraycopy(prices, from, newPrices, to, length);
+        System.arraycopy(ramGb, from, newRam, to, length);
+        System.arraycopy(storageGb, from, newStorage, to, length);
+        System.arraycopy(screenInches, from, newScreens, to, length);
+        System.arraycopy(brandIds, from, newBrandIds, to, length);
+    }
+
+    /**
+     * Finds the row holding the given id.
+     * @param id The laptop id.
+     * @return The row index, or {@code -(insertionPoint + 1)} if the id is not present.
+     */
+    public int rowOf(Long id) {
+        if (id == null) {
+            return -(laptops.length + 1);
+        }
+        return Arrays.binarySearch(ids, id);
+    }
+
+    /**
+     * Filters the snapshot on the recommend criteria. Null criteria are ignored.
+     * @return The matching row indexes in id order.
+     */
+    public int[] filter(String brand, Double minBudget, Double maxBudget, Integer screenSize, Integer minStorage, Integer minRAM) {
+        return facets().query(brand, minBudget, maxBudget, screenSize, minStorage, minRAM).stream().toArray();
+    }
+
+    /**
+     * Returns the bitmap facet index of this snapshot, building it on first use.
+     * @return The facet index.
+     */
+    public FacetIndex facets() {
+        FacetIndex index = facetIndex;
+        if (index == null) {
+            // Building twice under a race is harmless; both results are identical
+            index = new FacetIndex(this);
+            facetIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the normalized feature vectors of this snapshot, building them on first use.
+     * @return The feature vectors.
+     */
+    public LaptopFeatures features() {
+        LaptopFeatures current = features;
+        if (current == null) {
+            current = new LaptopFeatures(this);
+            features = current;
+        }
+        return current;
+    }
+
+    /**
+     * Materializes a slice of filtered rows as laptops.
+     * @param rows Row indexes, e.g. from {@link #filter}.
+     * @param from First position in {@code rows} (inclusive).
+     * @param to Last position in {@code rows} (exclusive).
+     * @return The laptops at those rows.
+     */
+    public List<Laptop> laptopsAt(int[] rows, int from, int to) {
+        List<Laptop> result = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            result.add(laptops[rows[i]]);
+        }
+        return result;
+    }
+
+    public int size() {
+        return laptops.length;
+    }
+
+    public Laptop laptopAt(int row) {
+        return laptops[row];
+    }
+
+    public long idAt(int row) {
+        return ids[row];
+    }
+
+    public double priceAt(int row) {
+        return prices[row];
+    }
+
+    public int ramGbAt(int row) {
+        return ramGb[row];
+    }
+
+    public int storageGbAt(int row) {
+        return storageGb[row];
+    }
+
+    public float screenInchesAt(int row) {
+        return screenInches[row];
+    }
+
+    public int brandIdAt(int row) {
+        return brandIds[row];
+    }
+
+    public String brandName(int brandId) {
+        return brandId >= 0 ? brandDictionary[brandId] : null;
+    }
+
+    public int brandCount() {
+        return brandDictionary.length;
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.laptoprecommendationsystem.util;
+
+import com.example.laptoprecommendationsystem.model.Laptop;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * Binary file image of the catalog, so the in-memory catalog can be rebuilt at startup without querying every row.
+ * The header records the catalog version row the file was built at; the file is current while that row is unchanged.
+ *
+ * <p>Only the catalog rows are stored. The vocabulary has its own automaton file next to its text files, and the
+ * indexes derived from the catalog (fuzzy search, name matching, the inverted index) are rebuilt from the loaded
+ * snapshot on the background index thread, so they do not delay startup.
+ *
+ * <p>Layout (big-endian):
+ * <pre>
+ * int    magic "LCAT"
+ * int    schema version
+ * int    row count
+ * long   catalog version
+ * int    dictionary size, then per entry: int byte length + UTF-8 bytes
+ * long[] ids, double[] prices, int[] rank scores, int[] RAM, int[] storage, double[] screen sizes
+ * int[]  resolution widths, resolution heights, CPU cores, spec versions
+ * int[]  one column of dictionary indexes per text field
+ * long   CRC32 of everything before it
+ * </pre>
+ * Missing values are stored as -1 (dictionary indexes), {@link Integer#MIN_VALUE} (ints) and NaN (doubles).
+ */
+public final class CatalogSnapshotFile {
+
+    private static final int MAGIC = 0x4C434154; // "LCAT"
+    static final int SCHEMA_VERSION = 3;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    // Text columns in file order; changing this list requires a new schema version
+    private static final List<Function<Laptop, String>> TEXT_GETTERS = List.of(
+            Laptop::getBrandName, Laptop::getProductName, Laptop::getImage, Laptop::getOs, Laptop::getProcessor,
+            Laptop::getGraphics, Laptop::getDisplay, Laptop::getMemory, Laptop::getStorage, Laptop::getFilepath,
+            Laptop::getContentHash, Laptop::getCpuFamily);
+    // Nullable int columns written after the screen sizes, in file order
+    private static final List<Function<Laptop, Integer>> INT_GETTERS = List.of(
+            Laptop::getResolutionWidth, Laptop::getResolutionHeight, Laptop::getCpuCores, Laptop::getSpecVersion);
+
+    /**
+     * The laptops read from a snapshot file, with the values needed to check it against the database.
+     */
+    public static final class Contents {
+        private final List<Laptop> laptops;
+        private final long catalogVersion;
+
+        Contents(List<Laptop> laptops, long catalogVersion) {
+            this.laptops = laptops;
+            this.catalogVersion = catalogVersion;
+        }
+
+        public List<Laptop> getLaptops() {
+            return laptops;
+        }
+
+        public long getCatalogVersion() {
+            return catalogVersion;
+        }
+    }
+
+    private CatalogSnapshotFile() {
+    }
+
+    /**
+     * Writes the snapshot's rows to a file. The file is replaced atomically, so readers never see a partial file.
+     * @param snapshot The catalog snapshot.
+     * @param catalogVersion The stored catalog version read before the snapshot's rows were loaded.
+     * @param file The target file.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(CatalogSnapshot snapshot, long catalogVersion, Path file) throws IOException {
+        int n = snapshot.size();
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        int[][] textColumns = new int[TEXT_GETTERS.size()][n];
+        for (int row = 0; row < n; row++) {
+            Laptop laptop = snapshot.laptopAt(row);
+            for (int column = 0; column < TEXT_GETTERS.size(); column++) {
+                String value = TEXT_GETTERS.get(column).apply(laptop);
+                textColumns[column][row] = value != null ? dictionary.computeIfAbsent(value, key -> dictionary.size()) : -1;
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + n * 128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(SCHEMA_VERSION);
+        out.writeInt(n);
+        out.writeLong(catalogVersion);
+        out.writeInt(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        }
+        for (int row = 0; row < n; row++) {
+            out.writeLong(snapshot.idAt(row));
+        }
+        for (int row = 0; row < n; row++) {
+            out.writeDouble(snapshot.priceAt(row));
+        }
+        for (int row = 0; row < n; row++) {
+            Integer rankScore = snapshot.laptopAt(row).getRankScore();
+            out.writeInt(rankScore != null ? rankScore : NULL_INT);
+        }
+        for (int row = 0; row < n; row++) {
+            Integer ramGb = snapshot.laptopAt(row).getRamGb();
+            out.writeInt(ramGb != null ? ramGb : NULL_INT);
+        }
+        for (int row = 0; row < n; row++) {
+            Integer storageGb = snapshot.laptopAt(row).getStorageGb();
+            out.writeInt(storageGb != null ? storageGb : NULL_INT);
+        }
+        for (int row = 0; row < n; row++) {
+            Double screenInches = snapshot.laptopAt(row).getScreenInches();
+            out.writeDouble(screenInches != null ? screenInches : Double.NaN);
+        }
+        for (Function<Laptop, Integer> getter : INT_GETTERS) {
+            for (int row = 0; row < n; row++) {
+                Integer value = getter.apply(snapshot.laptopAt(row));
+                out.writeInt(value != null ? value : NULL_INT);
+            }
+        }
+        for (int[] column : textColumns) {
+            for (int index : column) {
+                out.writeInt(index);
+            }
+        }
+        out.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeLong(crc.getValue());
+        out.flush();
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads a snapshot file through a read-only memory mapping.
+     * @param file The snapshot file.
+     * @return The laptops in id order and the catalog version they were loaded at.
+     * @throws IOException If the file cannot be read, is corrupt or has another schema version.
+     */
+    public static Contents read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 32 || size > Integer.MAX_VALUE) {
+                throw new IOException("Catalog snapshot has an invalid size: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            // Verify the checksum before trusting any length read from the file
+            int payloadLength = (int) size - Long.BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().limit(payloadLength));
+            if (crc.getValue() != buffer.getLong(payloadLength)) {
+                throw new IOException("Catalog snapshot checksum mismatch: " + file);
+            }
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a catalog snapshot: " + file);
+            }
+            int version = buffer.getInt();
+            if (version != SCHEMA_VERSION) {
+                throw new IOException("Unsupported catalog snapshot schema version " + version + ": " + file);
+            }
+            return decode(buffer);
+        }
+    }
+
+    private static Contents decode(ByteBuffer buffer) {
+        int n = buffer.getInt();
+        long catalogVersion = buffer.getLong();
+        String[] dictionary = new String[buffer.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            byte[] utf8 = new byte[buffer.getInt()];
+            buffer.get(utf8);
+            dictionary[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        Laptop[] laptops = new Laptop[n];
+        for (int row = 0; row < n; row++) {
+            laptops[row] = new Laptop();
+            laptops[row].setId(buffer.getLong());
+        }
+        for (int row = 0; row < n; row++) {
+            laptops[row].setPrice(buffer.getDouble());
+        }
+        for (int row = 0; row < n; row++) {
+            laptops[row].setRankScore(nullableInt(buffer.getInt()));
+        }
+        for (int row = 0; row < n; row++) {
+            laptops[row].setRamGb(nullableInt(buffer.getInt()));
+        }
+        for (int row = 0; row < n; row++) {
+            laptops[row].setStorageGb(nullableInt(buffer.getInt()));
+        }
+        for (int row = 0; row < n; row++) {
+            double screenInches = buffer.getDouble();
+            laptops[row].setScreenInches(Double.isNaN(screenInches) ? null : screenInches);
+        }
+        Integer[][] ints = new Integer[INT_GETTERS.size()][n];
+        for (Integer[] column : ints) {
+            for (int row = 0; row < n; row++) {
+                column[row] = nullableInt(buffer.getInt());
+            }
+        }
+        String[][] text = new String[TEXT_GETTERS.size()][n];
+        for (String[] column : text) {
+            for (int row = 0; row < n; row++) {
+                int index = buffer.getInt();
+                column[row] = index >= 0 ? dictionary[index] : null;
+            }
+        }
+        for (int row = 0; row < n; row++) {
+            Laptop laptop = laptops[row];
+            laptop.setBrandName(text[0][row]);
+            laptop.setProductName(text[1][row]);
+            laptop.setImage(text[2][row]);
+            laptop.setOs(text[3][row]);
+            laptop.setProcessor(text[4][row]);
+            laptop.setGraphics(text[5][row]);
+            laptop.setDisplay(text[6][row]);
+            laptop.setMemory(text[7][row]);
+            laptop.setStorage(text[8][row]);
+            laptop.setFilepath(text[9][row]);
+            laptop.setContentHash(text[10][row]);
+            laptop.setCpuFamily(text[11][row]);
+            laptop.setResolutionWidth(ints[0][row]);
+            laptop.setResolutionHeight(ints[1][row]);
+            laptop.setCpuCores(ints[2][row]);
+            laptop.setSpecVersion(ints[3][row]);
+        }
+        return new Contents(Arrays.asList(laptops), catalogVersion);
+    }
+
+    private static Integer nullableInt(int value) {
+        return value != NULL_INT ? value : null;
+    }
+}
@@ -0,0 +1,473 @@
+package com.example.laptoprecommendationsystem.util;
+
+import com.example.laptoprecommendationsystem.dto.SuggestionDTO;
+
+import java.util.*;
+
+/**
+ * Immutable radix trie over lower-cased keys, stored in a handful of primitive arrays instead of one object and one
+ * child array per character.
+ * Chains of single-child nodes are merged into one node whose edge label can hold several characters, and the nodes
+ * are numbered in preorder. The keys are inserted in sorted order, so the subtree of node {@code i} is exactly the
+ * nodes {@code i .. subtreeEnd[i] - 1}: its first child is {@code i + 1}, the next sibling of a child {@code c} is
+ * {@code subtreeEnd[c]}, and everything stored below a prefix is one contiguous range.
+ *
+ * <p>Each key has a weight (a frequency, for completions) and optionally postings (ids, for an inverted index). Every
+ * node keeps its most frequent keys so that small top-k prefix searches only walk the prefix. Node {@code i}'s label
+ * is {@code labels[labelStart[i]] .. labels[labelStart[i + 1] - 1]}, its own postings are
+ * {@code postings[postingStart[i]] .. postings[postingStart[i + 1] - 1]} and its cached keys are
+ * {@code top[topStart[i]] .. top[topStart[i + 1] - 1]}.
+ */
+public final class CompactTrie {
+
+    // How many of the most frequent keys below each node are kept ready for completions by default
+    public static final int DEFAULT_CACHED_COMPLETIONS = 10;
+
+    /**
+     * Collects keys in any order and builds the trie.
+     */
+    public static final class Builder {
+        private final TreeMap<String, Entry> entries = new TreeMap<>();
+        private final int cachedCompletions;
+
+        /**
+         * @param cachedCompletions How many of the most frequent keys below each node are kept, or 0 for a trie that
+         *                          only serves postings; key searches on such a trie walk the whole subtree.
+         */
+        public Builder(int cachedCompletions) {
+            if (cachedCompletions < 0) {
+                throw new IllegalArgumentException("cachedCompletions must not be negative");
+            }
+            this.cachedCompletions = cachedCompletions;
+        }
+
+        /**
+         * Adds a key, or adds to its weight if it is already present.
+         * @param key The lower-cased key.
+         * @param weight How often the key occurs.
+         * @return This builder.
+         */
+        public Builder add(String key, long weight) {
+            entries.computeIfAbsent(key, k -> new Entry()).weight += weight;
+            return this;
+        }
+
+        /**
+         * Adds a key with an id stored under it; repeated ids are stored once.
+         * @param key The lower-cased key.
+         * @param posting The id.
+         * @return This builder.
+         */
+        public Builder addPosting(String key, long posting) {
+            Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+            if (entry.postingCount == entry.postings.length) {
+                entry.postings = Arrays.copyOf(entry.postings, Math.max(2, entry.postings.length * 2));
+            }
+            entry.postings[entry.postingCount++] = posting;
+            return this;
+        }
+
+        public CompactTrie build() {
+            return new CompactTrie(this);
+        }
+    }
+
+    private static final class Entry {
+        long weight;
+        long[] postings = new long[0];
+        int postingCount;
+    }
+
+    private final int keyCount;
+    private final int cachedCompletions;
+    private final char[] labels;
+    private final int[] labelStart;
+    private final int[] subtreeEnd;
+    private final int[] parent;
+    private final BitSet terminal;
+    private final long[] weights;
+    private final int[] postingStart;
+    private final long[] postings;
+    private final int[] topStart;
+    private final int[] top;
+
+    private CompactTrie(Builder builder) {
+        String[] keys = builder.entries.keySet().toArray(new String[0]);
+        Entry[] values = builder.entries.values().toArray(new Entry[0]);
+        keyCount = keys.length;
+        cachedCompletions = builder.cachedCompletions;
+
+        // A radix trie has at most one internal node per key besides the root
+        int capacity = 2 * keys.length + 1;
+        int[] labelStarts = new int[capacity + 1];
+        int[] ends = new int[capacity];
+        int[] parents = new int[capacity];
+        BitSet terminals = new BitSet(capacity);
+        long[] nodeWeights = new long[capacity];
+        int[] postingStarts = new int[capacity + 1];
+        StringBuilder labelChars = new StringBuilder();
+        int postingTotal = 0;
+        for (Entry entry : values) {
+            postingTotal += entry.postingCount;
+        }
+        long[] allPostings = new long[postingTotal];
+
+        // Preorder construction over the sorted keys; each frame is a node whose children are still being emitted
+        int[] stackNode = new int[64];
+        int[] stackKeyEnd = new int[64];
+        int[] stackDepth = new int[64];
+        int postingCount = 0;
+        int next = 0;
+        // The root has an empty label and holds the empty key if present
+        parents[0] = -1;
+        if (next < keys.length && keys[next].isEmpty()) {
+            postingCount = markTerminal(0, values[next++], terminals, nodeWeights, allPostings, postingCount);
+        }
+        int nodes = 1;
+        stackKeyEnd[0] = keys.length;
+        int stackSize = 1;
+        while (stackSize > 0) {
+            int frame = stackSize - 1;
+            int node = stackNode[frame];
+            int depth = stackDepth[frame];
+            if (next >= stackKeyEnd[frame]) {
+                ends[node] = nodes;
+                stackSize--;
+                continue;
+            }
+            // The next child covers the keys sharing the character at 'depth' with the next key
+            char first = keys[next].charAt(depth);
+            int groupEnd = next + 1;
+            while (groupEnd < stackKeyEnd[frame] && keys[groupEnd].charAt(depth) == first) {
+                groupEnd++;
+            }
+            // Sorted keys: the common prefix of the group is the common prefix of its first and last key
+            int childDepth = commonPrefix(keys[next], keys[groupEnd - 1]);
+            int child = nodes++;
+            postingStarts[child] = postingCount;
+            labelStarts[child] = labelChars.length();
+            labelChars.append(keys[next], depth, childDepth);
+            parents[child] = node;
+            if (keys[next].length() == childDepth) {
+                postingCount = markTerminal(child, values[next++], terminals, nodeWeights, allPostings, postingCount);
+            }
+            if (stackSize == stackNode.length) {
+                stackNode = Arrays.copyOf(stackNode, stackSize * 2);
+                stackKeyEnd = Arrays.copyOf(stackKeyEnd, stackSize * 2);
+                stackDepth = Arrays.copyOf(stackDepth, stackSize * 2);
+            }
+            stackNode[stackSize] = child;
+            stackKeyEnd[stackSize] = groupEnd;
+            stackDepth[stackSize] = childDepth;
+            stackSize++;
+        }
+        labelStarts[nodes] = labelChars.length();
+        postingStarts[nodes] = postingCount;
+
+        labels = labelChars.toString().toCharArray();
+        labelStart = Arrays.copyOf(labelStarts, nodes + 1);
+        subtreeEnd = Arrays.copyOf(ends, nodes);
+        parent = Arrays.copyOf(parents, nodes);
+        terminal = terminals;
+        weights = Arrays.copyOf(nodeWeights, nodes);
+        postingStart = Arrays.copyOf(postingStarts, nodes + 1);
+        postings = allPostings;
+
+        if (cachedCompletions == 0) {
+            topStart = new int[nodes + 1];
+            top = new int[0];
+            return;
+        }
+        // Cached keys bottom-up: a node's list is drawn from its own key and its children's lists
+        int[][] lists = new int[nodes][];
+        int cachedTotal = 0;
+        for (int node = nodes - 1; node >= 0; node--) {
+            int[] candidates = terminal.get(node) ? new int[]{node} : new int[0];
+            for (int child = node + 1; child < subtreeEnd[node]; child = subtreeEnd[child]) {
+                int count = candidates.length;
+                candidates = Arrays.copyOf(candidates, count + lists[child].length);
+                System.arraycopy(lists[child], 0, candidates, count, lists[child].length);
+            }
+            lists[node] = best(candidates);
+            cachedTotal += lists[node].length;
+        }
+        topStart = new int[nodes + 1];
+        top = new int[cachedTotal];
+        for (int node = 0; node < nodes; node++) {
+            topStart[node + 1] = topStart[node] + lists[node].length;
+            System.arraycopy(lists[node], 0, top, topStart[node], lists[node].length);
+        }
+    }
+
+    // The most frequent candidates, ties in key order (preorder numbering is key order)
+    private int[] best(int[] candidates) {
+        Integer[] boxed = new Integer[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            boxed[i] = candidates[i];
+        }
+        Arrays.sort(boxed, (a, b) -> weights[a] != weights[b]
+                ? Long.compare(weights[b], weights[a])
+                : Integer.compare(a, b));
+        int[] result = new int[Math.min(cachedCompletions, boxed.length)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boxed[i];
+        }
+        return result;
+    }
+
+    private static int markTerminal(int node, Entry entry, BitSet terminals, long[] weights, long[] postings,
+                                    int postingCount) {
+        terminals.set(node);
+        weights[node] = entry.weight;
+        long[] sorted = Arrays.copyOf(entry.postings, entry.postingCount);
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                postings[postingCount++] = sorted[i];
+            }
+        }
+        return postingCount;
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @return The number of distinct keys.
+     */
+    public int size() {
+        return keyCount;
+    }
+
+    /**
+     * @return The number of nodes after merging single-child chains.
+     */
+    public int nodeCount() {
+        return subtreeEnd.length;
+    }
+
+    /**
+     * Finds the node at or below which every key starts with the prefix.
+     * @param prefix The prefix.
+     * @return The node, or -1 if no key starts with the prefix.
+     */
+    private int find(String prefix) {
+        int node = 0;
+        int position = 0;
+        while (position < prefix.length()) {
+            int child = node + 1;
+            while (child < subtreeEnd[node] && labels[labelStart[child]] != prefix.charAt(position)) {
+                child = subtreeEnd[child];
+            }
+            if (child >= subtreeEnd[node]) {
+                return -1;
+            }
+            // The prefix may end inside the label, in which case every key below the child still matches
+            for (int i = labelStart[child]; i < labelStart[child + 1] && position < prefix.length(); i++, position++) {
+                if (labels[i] != prefix.charAt(position)) {
+                    return -1;
+                }
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    private String keyAt(int node) {
+        int length = 0;
+        for (int n = node; n > 0; n = parent[n]) {
+            length += labelStart[n + 1] - labelStart[n];
+        }
+        char[] key = new char[length];
+        for (int n = node; n > 0; n = parent[n]) {
+            int labelLength = labelStart[n + 1] - labelStart[n];
+            length -= labelLength;
+            System.arraycopy(labels, labelStart[n], key, length, labelLength);
+        }
+        return new String(key);
+    }
+
+    // Highest weight below a node; without cached keys every subtree has to be assumed to hold anything
+    private long maxWeight(int node) {
+        if (cachedCompletions == 0) {
+            return Long.MAX_VALUE;
+        }
+        return topStart[node + 1] > topStart[node] ? weights[top[topStart[node]]] : 0;
+    }
+
+    /**
+     * Finds the most frequent keys with a prefix. Up to the cached number of keys this only walks the prefix.
+     * @param prefix The lower-cased prefix.
+     * @param limit The maximum number of keys.
+     * @return The keys, most frequent first, then alphabetically.
+     */
+    public List<String> searchByPrefix(String prefix, int limit) {
+        List<String> keys = new ArrayList<>();
+        int node = find(prefix);
+        if (node < 0 || limit <= 0) {
+            return keys;
+        }
+        int cached = topStart[node + 1] - topStart[node];
+        // A list shorter than the cache holds the whole subtree
+        if (limit <= cached || cached < cachedCompletions) {
+            for (int i = 0; i < Math.min(limit, cached); i++) {
+                keys.add(keyAt(top[topStart[node] + i]));
+            }
+            return keys;
+        }
+        Iterator<String> iterator = new PrefixIterator(node);
+        while (keys.size() < limit && iterator.hasNext()) {
+            keys.add(iterator.next());
+        }
+        return keys;
+    }
+
+    /**
+     * Iterates the keys with a prefix lazily, most frequent first, then alphabetically.
+     * @param prefix The lower-cased prefix.
+     * @return The iterator.
+     */
+    public Iterator<String> iterateByPrefix(String prefix) {
+        return new PrefixIterator(find(prefix));
+    }
+
+    /**
+     * Collects the postings stored under every key with a prefix. They are one contiguous range of the postings
+     * array, so no subtree is walked.
+     * @param prefix The lower-cased prefix.
+     * @return The distinct postings.
+     */
+    public Set<Long> searchPostingsByPrefix(String prefix) {
+        int node = find(prefix);
+        if (node < 0) {
+            return Collections.emptySet();
+        }
+        Set<Long> result = new HashSet<>();
+        for (int i = postingStart[node]; i < postingStart[subtreeEnd[node]]; i++) {
+            result.add(postings[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the most frequent keys that start with a prefix within an edit distance of the query, walking the trie
+     * best-first by subtree frequency with a Levenshtein DP row per path; a row is advanced once per label character.
+     * @param query The lower-cased, possibly misspelled prefix.
+     * @param maxDistance The largest edit distance between the query and a prefix of a result.
+     * @param limit The maximum number of results.
+     * @return The completions by descending frequency, then distance, then alphabetically.
+     */
+    public List<SuggestionDTO> fuzzySearchByPrefix(String query, int maxDistance, int limit) {
+        List<SuggestionDTO> results = new ArrayList<>();
+        if (limit <= 0 || keyCount == 0) {
+            return results;
+        }
+        int[] firstRow = new int[query.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+        PriorityQueue<WalkItem> queue = new PriorityQueue<>(WalkItem.ORDER);
+        queue.add(new WalkItem(0, false, firstRow, query.length(), maxWeight(0)));
+
+        while (!queue.isEmpty() && results.size() < limit) {
+            WalkItem item = queue.poll();
+            if (item.key) {
+                results.add(new SuggestionDTO(keyAt(item.node), item.distance, item.priority));
+                continue;
+            }
+            int node = item.node;
+            if (terminal.get(node) && item.distance <= maxDistance) {
+                queue.add(new WalkItem(node, true, null, item.distance, weights[node]));
+            }
+            for (int child = node + 1; child < subtreeEnd[node]; child = subtreeEnd[child]) {
+                int[] row = item.row;
+                int distance = item.distance;
+                for (int i = labelStart[child]; i < labelStart[child + 1] && row != null; i++) {
+                    row = nextRow(row, query, labels[i], maxDistance);
+                    if (row != null) {
+                        distance = Math.min(distance, row[query.length()]);
+                    }
+                }
+                // Without a row the query can no longer get closer, which only matters if a prefix already matched
+                if (row != null || distance <= maxDistance) {
+                    queue.add(new WalkItem(child, false, row, distance, maxWeight(child)));
+                }
+            }
+        }
+        return results;
+    }
+
+    // Next DP row for one more trie character, or null once every entry exceeds the distance
+    private static int[] nextRow(int[] previous, String query, char character, int maxDistance) {
+        int[] row = new int[previous.length];
+        row[0] = previous[0] + 1;
+        int rowMin = row[0];
+        for (int i = 1; i < row.length; i++) {
+            int cost = query.charAt(i - 1) == character ? 0 : 1;
+            row[i] = Math.min(Math.min(row[i - 1] + 1, previous[i] + 1), previous[i - 1] + cost);
+            rowMin = Math.min(rowMin, row[i]);
+        }
+        return rowMin <= maxDistance ? row : null;
+    }
+
+    // A subtree to expand or a finished key, ordered by the frequency bound; node numbers order keys alphabetically
+    private static final class WalkItem {
+        static final Comparator<WalkItem> ORDER = Comparator.<WalkItem>comparingLong(item -> -item.priority)
+                .thenComparing(item -> item.key)
+                .thenComparingInt(item -> item.distance)
+                .thenComparingInt(item -> item.node);
+
+        final int node;
+        final boolean key;
+        final int[] row;
+        final int distance;
+        final long priority;
+
+        WalkItem(int node, boolean key, int[] row, int distance, long priority) {
+            this.node = node;
+            this.key = key;
+            this.row = row;
+            this.distance = distance;
+            this.priority = priority;
+        }
+    }
+
+    // Best-first walk over a subtree by frequency bound, yielding one key per step
+    private final class PrefixIterator implements Iterator<String> {
+        private final PriorityQueue<WalkItem> queue = new PriorityQueue<>(WalkItem.ORDER);
+
+        PrefixIterator(int node) {
+            if (node >= 0 && (cachedCompletions == 0 || topStart[node + 1] > topStart[node])) {
+                queue.add(new WalkItem(node, false, null, 0, maxWeight(node)));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!queue.isEmpty() && !queue.peek().key) {
+                int node = queue.poll().node;
+                if (terminal.get(node)) {
+                    queue.add(new WalkItem(node, true, null, 0, weights[node]));
+                }
+                for (int child = node + 1; child < subtreeEnd[node]; child = subtreeEnd[child]) {
+                    queue.add(new WalkItem(child, false, null, 0, maxWeight(child)));
+                }
+            }
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return keyAt(queue.poll().node);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.laptoprecommendationsystem.util;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Streams the rows of a CSV file to a {@link StreamingXlsxReader.RowConsumer}, one row at a time.
+ */
+public final class CsvRowReader {
+
+    private CsvRowReader() {
+    }
+
+    /**
+     * Streams every row of the file to the consumer, in file order.
+     * @param filePath The path of the CSV file.
+     * @param charset The file's encoding.
+     * @param consumer Receives each row as it is parsed.
+     * @throws IOException If the file cannot be read or parsed.
+     */
+    public static void read(String filePath, Charset charset, StreamingXlsxReader.RowConsumer consumer) throws IOException {
+        try (CSVReader reader = new CSVReader(new InputStreamReader(new FileInputStream(filePath), charset))) {
+            String[] row;
+            int rowIndex = 0;
+            while ((row = reader.readNext()) != null) {
+                consumer.accept(rowIndex++, Arrays.asList(row));
+            }
+        } catch (CsvValidationException e) {
+            throw new IOException("Error reading CSV file: " + filePath, e);
+        }
+    }
+}
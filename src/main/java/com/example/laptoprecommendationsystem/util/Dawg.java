@@ -0,0 +1,601 @@
+package com.example.laptoprecommendationsystem.util;
+
+import com.example.laptoprecommendationsystem.dto.SuggestionDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.function.ObjLongConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Frozen vocabulary stored as a minimal acyclic automaton (DAWG): words share their common prefixes and, unlike in a
+ * trie, their common suffixes too, so "thinkpad" and "ideapad" end in the same states.
+ * The automaton is built in one pass over the sorted words with the incremental algorithm of Daciuk et al.: once a
+ * word's suffix can no longer change, its states are replaced by equivalent ones already registered.
+ *
+ * <p>States are numbered from 0 (the start state). The arcs of state {@code s} are
+ * {@code labels[arcStart[s]] .. labels[arcStart[s + 1] - 1]}, sorted by label, with the matching {@code targets}.
+ * {@code wordCounts[s]} is the number of words accepted from {@code s}, which numbers the words in sorted order; that
+ * ordinal indexes {@code frequencies}.
+ *
+ * <p>File layout (big-endian): int magic "DAWG", int format version, int state count, int arc count, int word count,
+ * int[] arc starts, char[] labels, int[] targets, int[] word counts, int final-state bit set length + long[] bits,
+ * long[] frequencies, long CRC32 of everything before it.
+ */
+public final class Dawg implements TermDictionary {
+
+    private static final int MAGIC = 0x44415747; // "DAWG"
+    private static final int FORMAT_VERSION = 1;
+
+    private final int[] arcStart;
+    private final char[] labels;
+    private final int[] targets;
+    private final int[] wordCounts;
+    private final BitSet finals;
+    private final long[] frequencies;
+
+    private Dawg(int[] arcStart, char[] labels, int[] targets, int[] wordCounts, BitSet finals, long[] frequencies) {
+        this.arcStart = arcStart;
+        this.labels = labels;
+        this.targets = targets;
+        this.wordCounts = wordCounts;
+        this.finals = finals;
+        this.frequencies = frequencies;
+    }
+
+    // A state of the automaton under construction; registered states are never modified again
+    private static final class State {
+        char[] labels = new char[0];
+        State[] targets = new State[0];
+        boolean isFinal;
+
+        void addArc(char label, State target) {
+            labels = Arrays.copyOf(labels, labels.length + 1);
+            targets = Arrays.copyOf(targets, targets.length + 1);
+            labels[labels.length - 1] = label;
+            targets[targets.length - 1] = target;
+        }
+
+        // Equivalent states accept the same suffixes; targets are already registered, so identity suffices
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof State state) || isFinal != state.isFinal || !Arrays.equals(labels, state.labels)) {
+                return false;
+            }
+            for (int i = 0; i < targets.length; i++) {
+                if (targets[i] != state.targets[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = Boolean.hashCode(isFinal) * 31 + Arrays.hashCode(labels);
+            for (State target : targets) {
+                hash = hash * 31 + System.identityHashCode(target);
+            }
+            return hash;
+        }
+    }
+
+    /**
+     * Builds the automaton.
+     * @param words The words, lower-cased, with their frequencies.
+     * @return The frozen automaton.
+     */
+    public static Dawg build(Map<String, Long> words) {
+        TreeMap<String, Long> sorted = new TreeMap<>(words);
+        Construction construction = new Construction();
+        sorted.keySet().forEach(construction::add);
+        return construction.freeze(sorted.values().stream().mapToLong(Long::longValue).toArray());
+    }
+
+    /**
+     * Builds the automaton of the words of two automata, adding the frequencies of words found in both. Both are
+     * read in sorted order, so no intermediate map of the words is needed.
+     * @param first One vocabulary.
+     * @param second The other vocabulary.
+     * @return The frozen automaton.
+     */
+    public static Dawg union(Dawg first, Dawg second) {
+        Construction construction = new Construction();
+        long[] frequencies = new long[first.size() + second.size()];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.size() || j < second.size()) {
+            int comparison = i == first.size() ? 1 : j == second.size() ? -1 : first.termAt(i).compareTo(second.termAt(j));
+            if (comparison <= 0) {
+                construction.add(first.termAt(i));
+                frequencies[count] = first.frequencies[i++];
+                if (comparison == 0) {
+                    frequencies[count] += second.frequencies[j++];
+                }
+            } else {
+                construction.add(second.termAt(j));
+                frequencies[count] = second.frequencies[j++];
+            }
+            count++;
+        }
+        return construction.freeze(Arrays.copyOf(frequencies, count));
+    }
+
+    // Incremental minimization over words added in sorted order
+    private static final class Construction {
+        private final Map<State, State> register = new HashMap<>();
+        private final State start = new State();
+        private final List<State> path = new ArrayList<>(List.of(start));
+        private String previous = "";
+
+        void add(String word) {
+            int common = 0;
+            while (common < Math.min(previous.length(), word.length()) && previous.charAt(common) == word.charAt(common)) {
+                common++;
+            }
+            replaceOrRegister(path, common, register);
+            for (int i = common; i < word.length(); i++) {
+                State state = new State();
+                path.get(path.size() - 1).addArc(word.charAt(i), state);
+                path.add(state);
+            }
+            path.get(path.size() - 1).isFinal = true;
+            previous = word;
+        }
+
+        Dawg freeze(long[] frequencies) {
+            replaceOrRegister(path, 0, register);
+            return Dawg.freeze(start, frequencies);
+        }
+    }
+
+    // Minimizes the states of the previous word below the given depth; no later word can add arcs to them
+    private static void replaceOrRegister(List<State> path, int depth, Map<State, State> register) {
+        for (int i = path.size() - 1; i > depth; i--) {
+            State state = path.get(i);
+            State equivalent = register.putIfAbsent(state, state);
+            if (equivalent != null) {
+                State parent = path.get(i - 1);
+                parent.targets[parent.targets.length - 1] = equivalent;
+            }
+            path.remove(i);
+        }
+    }
+
+    private static Dawg freeze(State start, long[] frequencies) {
+        // Number the states depth-first from the start state
+        Map<State, Integer> numbers = new IdentityHashMap<>();
+        List<State> states = new ArrayList<>();
+        Deque<State> pending = new ArrayDeque<>();
+        pending.push(start);
+        numbers.put(start, 0);
+        states.add(start);
+        int arcCount = 0;
+        while (!pending.isEmpty()) {
+            State state = pending.pop();
+            arcCount += state.targets.length;
+            for (State target : state.targets) {
+                if (!numbers.containsKey(target)) {
+                    numbers.put(target, states.size());
+                    states.add(target);
+                    pending.push(target);
+                }
+            }
+        }
+
+        int[] arcStart = new int[states.size() + 1];
+        char[] labels = new char[arcCount];
+        int[] targets = new int[arcCount];
+        BitSet finals = new BitSet(states.size());
+        int arc = 0;
+        for (int s = 0; s < states.size(); s++) {
+            State state = states.get(s);
+            arcStart[s] = arc;
+            if (state.isFinal) {
+                finals.set(s);
+            }
+            for (int i = 0; i < state.targets.length; i++) {
+                labels[arc] = state.labels[i];
+                targets[arc++] = numbers.get(state.targets[i]);
+            }
+        }
+        arcStart[states.size()] = arc;
+
+        int[] wordCounts = new int[states.size()];
+        Arrays.fill(wordCounts, -1);
+        countWords(0, arcStart, targets, finals, wordCounts);
+        return new Dawg(arcStart, labels, targets, wordCounts, finals, frequencies);
+    }
+
+    // Words accepted from a state, memoized; the depth is bounded by the longest word
+    private static int countWords(int state, int[] arcStart, int[] targets, BitSet finals, int[] wordCounts) {
+        if (wordCounts[state] >= 0) {
+            return wordCounts[state];
+        }
+        int count = finals.get(state) ? 1 : 0;
+        for (int arc = arcStart[state]; arc < arcStart[state + 1]; arc++) {
+            count += countWords(targets[arc], arcStart, targets, finals, wordCounts);
+        }
+        wordCounts[state] = count;
+        return count;
+    }
+
+    /**
+     * @return The number of words.
+     */
+    @Override
+    public int size() {
+        return wordCounts[0];
+    }
+
+    /**
+     * Spells out the word with an ordinal by descending into the arc whose word count covers it.
+     * @param ordinal The word's position in sorted order.
+     * @return The word.
+     */
+    @Override
+    public String termAt(int ordinal) {
+        if (ordinal < 0 || ordinal >= size()) {
+            throw new IndexOutOfBoundsException("No word with ordinal " + ordinal);
+        }
+        StringBuilder word = new StringBuilder();
+        int state = 0;
+        while (true) {
+            if (finals.get(state)) {
+                if (ordinal == 0) {
+                    return word.toString();
+                }
+                ordinal--;
+            }
+            int arc = arcStart[state];
+            while (ordinal >= wordCounts[targets[arc]]) {
+                ordinal -= wordCounts[targets[arc++]];
+            }
+            word.append(labels[arc]);
+            state = targets[arc];
+        }
+    }
+
+    @Override
+    public long frequencyAt(int ordinal) {
+        return frequencies[ordinal];
+    }
+
+    public int stateCount() {
+        return wordCounts.length;
+    }
+
+    public int arcCount() {
+        return labels.length;
+    }
+
+    private int arc(int state, char label) {
+        int low = arcStart[state];
+        int high = arcStart[state + 1] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (labels[middle] < label) {
+                low = middle + 1;
+            } else if (labels[middle] > label) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param word The lower-cased word.
+     * @return True if the word is in the vocabulary.
+     */
+    public boolean contains(String word) {
+        return ordinal(word) >= 0;
+    }
+
+    /**
+     * Finds a word's position in sorted order, which is the same for every equal vocabulary.
+     * @param word The lower-cased word.
+     * @return The ordinal, or -1 if the word is not in the vocabulary.
+     */
+    public int ordinal(String word) {
+        int state = 0;
+        int ordinal = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int arc = arc(state, word.charAt(i));
+            if (arc < 0) {
+                return -1;
+            }
+            // Skip the word ending here and every word behind a smaller label
+            if (finals.get(state)) {
+                ordinal++;
+            }
+            for (int smaller = arcStart[state]; smaller < arc; smaller++) {
+                ordinal += wordCounts[targets[smaller]];
+            }
+            state = targets[arc];
+        }
+        return finals.get(state) ? ordinal : -1;
+    }
+
+    /**
+     * @param word The lower-cased word.
+     * @return The word's frequency, or 0 if it is not in the vocabulary.
+     */
+    public long frequency(String word) {
+        int ordinal = ordinal(word);
+        return ordinal >= 0 ? frequencies[ordinal] : 0;
+    }
+
+    /**
+     * Lists the words with a prefix in alphabetical order.
+     * @param prefix The lower-cased prefix.
+     * @param limit The maximum number of words.
+     * @return The words.
+     */
+    public List<String> wordsWithPrefix(String prefix, int limit) {
+        List<String> words = new ArrayList<>();
+        int state = 0;
+        for (int i = 0; i < prefix.length() && state >= 0; i++) {
+            int arc = arc(state, prefix.charAt(i));
+            state = arc >= 0 ? targets[arc] : -1;
+        }
+        if (state >= 0 && limit > 0) {
+            collect(state, new StringBuilder(prefix), words, limit);
+        }
+        return words;
+    }
+
+    private void collect(int state, StringBuilder word, List<String> words, int limit) {
+        if (finals.get(state)) {
+            words.add(word.toString());
+        }
+        for (int arc = arcStart[state]; arc < arcStart[state + 1] && words.size() < limit; arc++) {
+            word.append(labels[arc]);
+            collect(targets[arc], word, words, limit);
+            word.setLength(word.length() - 1);
+        }
+    }
+
+    /**
+     * Visits every word with its frequency, in alphabetical order, in one walk instead of spelling out each ordinal.
+     * @param action Called once per word.
+     */
+    @Override
+    public void forEach(ObjLongConsumer<String> action) {
+        forEach(0, new StringBuilder(), new int[1], action);
+    }
+
+    private void forEach(int state, StringBuilder word, int[] ordinal, ObjLongConsumer<String> action) {
+        if (finals.get(state)) {
+            action.accept(word.toString(), frequencies[ordinal[0]++]);
+        }
+        for (int arc = arcStart[state]; arc < arcStart[state + 1]; arc++) {
+            word.append(labels[arc]);
+            forEach(targets[arc], word, ordinal, action);
+            word.setLength(word.length() - 1);
+        }
+    }
+
+    /**
+     * Finds the words within an edit distance of the query by walking the automaton with a Levenshtein DP row,
+     * abandoning every path whose row minimum exceeds the distance.
+     * @param query The lower-cased query.
+     * @param maxDistance The largest accepted edit distance.
+     * @param limit The maximum number of words.
+     * @return The closest words, ordered by distance, then by descending frequency, then alphabetically.
+     */
+    public List<SuggestionDTO> search(String query, int maxDistance, int limit) {
+        List<SuggestionDTO> found = new ArrayList<>();
+        if (limit <= 0) {
+            return found;
+        }
+        int[] row = new int[query.length() + 1];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = i;
+        }
+        search(0, 0, row, new StringBuilder(), query, maxDistance, found);
+        found.sort(Comparator.comparingInt(SuggestionDTO::getDistance)
+                .thenComparing(Comparator.comparingLong(SuggestionDTO::getFrequency).reversed())
+                .thenComparing(SuggestionDTO::getTerm));
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    private void search(int state, int ordinal, int[] row, StringBuilder word, String query, int maxDistance,
+                        List<SuggestionDTO> found) {
+        if (finals.get(state)) {
+            if (row[query.length()] <= maxDistance) {
+                found.add(new SuggestionDTO(word.toString(), row[query.length()], frequencies[ordinal]));
+            }
+            ordinal++;
+        }
+        for (int arc = arcStart[state]; arc < arcStart[state + 1]; arc++) {
+            int target = targets[arc];
+            int[] next = new int[row.length];
+            next[0] = row[0] + 1;
+            int rowMin = next[0];
+            for (int i = 1; i < next.length; i++) {
+                int cost = query.charAt(i - 1) == labels[arc] ? 0 : 1;
+                next[i] = Math.min(Math.min(next[i - 1] + 1, row[i] + 1), row[i - 1] + cost);
+                rowMin = Math.min(rowMin, next[i]);
+            }
+            if (rowMin <= maxDistance) {
+                word.append(labels[arc]);
+                search(target, ordinal, next, word, query, maxDistance, found);
+                word.setLength(word.length() - 1);
+            }
+            ordinal += wordCounts[target];
+        }
+    }
+
+    /**
+     * Writes the automaton to a file. The file is replaced atomically, so readers never see a partial file.
+     * @param file The target file.
+     * @throws IOException If the file cannot be written.
+     */
+    public void write(Path file) throws IOException {
+        long[] finalBits = finals.toLongArray();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + labels.length * 6 + wordCounts.length * 8);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(wordCounts.length);
+        out.writeInt(labels.length);
+        out.writeInt(frequencies.length);
+        for (int start : arcStart) {
+            out.writeInt(start);
+        }
+        for (char label : labels) {
+            out.writeChar(label);
+        }
+        for (int target : targets) {
+            out.writeInt(target);
+        }
+        for (int count : wordCounts) {
+            out.writeInt(count);
+        }
+        out.writeInt(finalBits.length);
+        for (long bits : finalBits) {
+            out.writeLong(bits);
+        }
+        for (long frequency : frequencies) {
+            out.writeLong(frequency);
+        }
+        out.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeLong(crc.getValue());
+        out.flush();
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads an automaton written by {@link #write(Path)}.
+     * @param file The file.
+     * @return The automaton.
+     * @throws IOException If the file cannot be read, is corrupt or malformed, or has another format version.
+     */
+    public static Dawg read(Path file) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        if (content.length < 32) {
+            throw new IOException("Vocabulary automaton has an invalid size: " + file);
+        }
+        // Verify the checksum before trusting any length read from the file
+        int payloadLength = content.length - Long.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(content, 0, payloadLength);
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        if (crc.getValue() != buffer.getLong(payloadLength)) {
+            throw new IOException("Vocabulary automaton checksum mismatch: " + file);
+        }
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a vocabulary automaton: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported vocabulary automaton format version " + version + ": " + file);
+        }
+        // A matching checksum only rules out damage, so check every length against the bytes that are left
+        int stateCount = buffer.getInt();
+        int arcCount = buffer.getInt();
+        int wordCount = buffer.getInt();
+        long arrayBytes = (stateCount + 1L) * Integer.BYTES + (long) arcCount * (Character.BYTES + Integer.BYTES)
+                + (long) stateCount * Integer.BYTES + Integer.BYTES + (long) wordCount * Long.BYTES;
+        if (stateCount < 1 || arcCount < 0 || wordCount < 0 || arrayBytes > payloadLength - buffer.position()) {
+            throw new IOException("Vocabulary automaton has invalid lengths: " + file);
+        }
+        int[] arcStart = new int[stateCount + 1];
+        char[] labels = new char[arcCount];
+        int[] targets = new int[arcCount];
+        int[] wordCounts = new int[stateCount];
+        buffer.asIntBuffer().get(arcStart);
+        buffer.position(buffer.position() + arcStart.length * Integer.BYTES);
+        buffer.asCharBuffer().get(labels);
+        buffer.position(buffer.position() + labels.length * Character.BYTES);
+        buffer.asIntBuffer().get(targets);
+        buffer.position(buffer.position() + targets.length * Integer.BYTES);
+        buffer.asIntBuffer().get(wordCounts);
+        buffer.position(buffer.position() + wordCounts.length * Integer.BYTES);
+        int finalLength = buffer.getInt();
+        if (finalLength < 0 || ((long) finalLength + wordCount) * Long.BYTES != payloadLength - buffer.position()) {
+            throw new IOException("Vocabulary automaton has invalid lengths: " + file);
+        }
+        long[] finalBits = new long[finalLength];
+        long[] frequencies = new long[wordCount];
+        buffer.asLongBuffer().get(finalBits);
+        buffer.position(buffer.position() + finalBits.length * Long.BYTES);
+        buffer.asLongBuffer().get(frequencies);
+
+        // Lookups follow these values without bounds checks of their own, so a bad one would only fail on a search
+        BitSet finals = BitSet.valueOf(finalBits);
+        if (!isWellFormed(arcStart, targets, wordCounts, finals, wordCount)) {
+            throw new IOException("Vocabulary automaton is malformed: " + file);
+        }
+        return new Dawg(arcStart, labels, targets, wordCounts, finals, frequencies);
+    }
+
+    // Arcs stay in range, the graph is acyclic and every state's word count adds up from its arcs
+    private static boolean isWellFormed(int[] arcStart, int[] targets, int[] wordCounts, BitSet finals, int wordCount) {
+        int stateCount = wordCounts.length;
+        if (arcStart[0] != 0 || arcStart[stateCount] != targets.length || wordCounts[0] != wordCount
+                || finals.length() > stateCount) {
+            return false;
+        }
+        int[] incoming = new int[stateCount];
+        for (int state = 0; state < stateCount; state++) {
+            if (arcStart[state] > arcStart[state + 1]) {
+                return false;
+            }
+        }
+        for (int target : targets) {
+            if (target <= 0 || target >= stateCount) {
+                return false;
+            }
+            incoming[target]++;
+        }
+
+        // Kahn's algorithm from the start state: a cycle leaves some states that are never released
+        Deque<Integer> ready = new ArrayDeque<>();
+        ready.push(0);
+        int visited = 0;
+        while (!ready.isEmpty()) {
+            int state = ready.pop();
+            visited++;
+            for (int arc = arcStart[state]; arc < arcStart[state + 1]; arc++) {
+                if (--incoming[targets[arc]] == 0) {
+                    ready.push(targets[arc]);
+                }
+            }
+        }
+        if (visited != stateCount) {
+            return false;
+        }
+        for (int state = 0; state < stateCount; state++) {
+            long count = finals.get(state) ? 1 : 0;
+            for (int arc = arcStart[state]; arc < arcStart[state + 1]; arc++) {
+                count += wordCounts[targets[arc]];
+            }
+            if (count != wordCounts[state] || count < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.laptoprecommendationsystem.util;
+
+import java.util.*;
+
+/**
+ * Bitmap index over a {@link CatalogSnapshot}.
+ * Every facet value owns a bitmap of the rows that carry it, so a query is a handful of bitmap ANDs.
+ * RAM and storage bitmaps are cumulative ("at least N GB"), which turns a minimum filter into a single lookup.
+ */
+public final class FacetIndex {
+
+    public static final String BRAND = "brand";
+    public static final String RAM = "ram";
+    public static final String STORAGE = "storage";
+    public static final String SCREEN_SIZE = "screenSize";
+
+    private final CatalogSnapshot snapshot;
+    private final BitSet[] brandBitmaps;
+    private final int[] ramValues;
+    private final BitSet[] ramAtLeast;
+    private final int[] storageValues;
+    private final BitSet[] storageAtLeast;
+    private final int[] screenValues;
+    private final BitSet[] screenBitmaps;
+    private final int[] rowsByPrice;
+    private final double[] sortedPrices;
+
+    public FacetIndex(CatalogSnapshot snapshot) {
+        this.snapshot = snapshot;
+        int n = snapshot.size();
+
+        brandBitmaps = new BitSet[snapshot.brandCount()];
+        for (int i = 0; i < brandBitmaps.length; i++) {
+            brandBitmaps[i] = new BitSet(n);
+        }
+        int[] ram = new int[n];
+        int[] storage = new int[n];
+        int[] screens = new int[n];
+        for (int row = 0; row < n; row++) {
+            if (snapshot.brandIdAt(row) >= 0) {
+                brandBitmaps[snapshot.brandIdAt(row)].set(row);
+            }
+            ram[row] = snapshot.ramGbAt(row);
+            storage[row] = snapshot.storageGbAt(row);
+            screens[row] = (int) snapshot.screenInchesAt(row);
+        }
+
+        ramValues = distinctSorted(ram);
+        ramAtLeast = cumulativeBitmaps(ram, ramValues);
+        storageValues = distinctSorted(storage);
+        storageAtLeast = cumulativeBitmaps(storage, storageValues);
+        screenValues = distinctSorted(screens);
+        screenBitmaps = new BitSet[screenValues.length];
+        for (int i = 0; i < screenValues.length; i++) {
+            screenBitmaps[i] = new BitSet(n);
+        }
+        for (int row = 0; row < n; row++) {
+            screenBitmaps[Arrays.binarySearch(screenValues, screens[row])].set(row);
+        }
+
+        // Sorted price index for range cuts
+        Integer[] order = new Integer[n];
+        for (int row = 0; row < n; row++) {
+            order[row] = row;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(snapshot::priceAt));
+        rowsByPrice = new int[n];
+        for (int i = 0; i < n; i++) {
+            rowsByPrice[i] = order[i];
+        }
+        sortedPrices = new double[n];
+        for (int i = 0; i < n; i++) {
+            sortedPrices[i] = snapshot.priceAt(rowsByPrice[i]);
+        }
+    }
+
+    private static int[] distinctSorted(int[] values) {
+        return Arrays.stream(values).distinct().sorted().toArray();
+    }
+
+    // bitmaps[i] holds every row whose value is >= distinctValues[i]
+    private static BitSet[] cumulativeBitmaps(int[] values, int[] distinctValues) {
+        BitSet[] exact = new BitSet[distinctValues.length];
+        for (int i = 0; i < distinctValues.length; i++) {
+            exact[i] = new BitSet(values.length);
+        }
+        for (int row = 0; row < values.length; row++) {
+            exact[Arrays.binarySearch(distinctValues, values[row])].set(row);
+        }
+        BitSet[] atLeast = new BitSet[distinctValues.length];
+        BitSet running = new BitSet(values.length);
+        for (int i = distinctValues.length - 1; i >= 0; i--) {
+            running.or(exact[i]);
+            atLeast[i] = (BitSet) running.clone();
+        }
+        return atLeast;
+    }
+
+    /**
+     * Computes the bitmap of rows matching the recommend criteria. Null criteria are ignored.
+     * @return A fresh bitmap of matching rows.
+     */
+    public BitSet query(String brand, Double minBudget, Double maxBudget, Integer screenSize, Integer minStorage, Integer minRAM) {
+        BitSet result = priceRange(minBudget, maxBudget);
+
+        if (brand != null && !brand.isEmpty()) {
+            String query = brand.toLowerCase();
+            BitSet brands = new BitSet(snapshot.size());
+            for (int brandId = 0; brandId < brandBitmaps.length; brandId++) {
+                if (snapshot.brandName(brandId).contains(query)) {
+                    brands.or(brandBitmaps[brandId]);
+                }
+            }
+            result.and(brands);
+        }
+        if (screenSize != null && screenSize > 0) {
+            int i = Arrays.binarySearch(screenValues, screenSize);
+            if (i < 0) {
+                result.clear();
+            } else {
+                result.and(screenBitmaps[i]);
+            }
+        }
+        if (minStorage != null) {
+            andAtLeast(result, storageValues, storageAtLeast, minStorage);
+        }
+        if (minRAM != null) {
+            andAtLeast(result, ramValues, ramAtLeast, minRAM);
+        }
+        return result;
+    }
+
+    private BitSet priceRange(Double minBudget, Double maxBudget) {
+        int n = snapshot.size();
+        BitSet result = new BitSet(n);
+        if (minBudget == null && maxBudget == null) {
+            result.set(0, n);
+            return result;
+        }
+        int from = minBudget != null ? lowerBound(minBudget) : 0;
+        int to = maxBudget != null ? upperBound(maxBudget) : n;
+        for (int i = from; i < to; i++) {
+            result.set(rowsByPrice[i]);
+        }
+        return result;
+    }
+
+    // First position whose price is >= value
+    private int lowerBound(double value) {
+        int low = 0;
+        int high = sortedPrices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedPrices[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First position whose price is > value
+    private int upperBound(double value) {
+        int low = 0;
+        int high = sortedPrices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedPrices[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void andAtLeast(BitSet result, int[] values, BitSet[] atLeast, int minimum) {
+        int i = Arrays.binarySearch(values, minimum);
+        if (i < 0) {
+            i = -(i + 1); // First value above the minimum
+        }
+        if (i >= values.length) {
+            result.clear();
+        } else {
+            result.and(atLeast[i]);
+        }
+    }
+
+    /**
+     * Counts facet values over a result set in a single pass over its rows.
+     * @param rows The matching rows.
+     * @return Counts keyed by facet name, then by facet value.
+     */
+    public Map<String, Map<String, Integer>> countFacets(BitSet rows) {
+        int[] brandCounts = new int[brandBitmaps.length];
+        int[] ramCounts = new int[ramValues.length];
+        int[] storageCounts = new int[storageValues.length];
+        int[] screenCounts = new int[screenValues.length];
+
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            if (snapshot.brandIdAt(row) >= 0) {
+                brandCounts[snapshot.brandIdAt(row)]++;
+            }
+            ramCounts[Arrays.binarySearch(ramValues, snapshot.ramGbAt(row))]++;
+            storageCounts[Arrays.binarySearch(storageValues, snapshot.storageGbAt(row))]++;
+            screenCounts[Arrays.binarySearch(screenValues, (int) snapshot.screenInchesAt(row))]++;
+        }
+
+        Map<String, Integer> brands = new TreeMap<>();
+        for (int brandId = 0; brandId < brandCounts.length; brandId++) {
+            if (brandCounts[brandId] > 0) {
+                brands.put(snapshot.brandName(brandId), brandCounts[brandId]);
+            }
+        }
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        facets.put(BRAND, brands);
+        facets.put(RAM, valueCounts(ramValues, ramCounts));
+        facets.put(STORAGE, valueCounts(storageValues, storageCounts));
+        facets.put(SCREEN_SIZE, valueCounts(screenValues, screenCounts));
+        return facets;
+    }
+
+    private static Map<String, Integer> valueCounts(int[] values, int[] counts) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            if (counts[i] > 0) {
+                result.put(String.valueOf(values[i]), counts[i]);
+            }
+        }
+        return result;
+    }
+}
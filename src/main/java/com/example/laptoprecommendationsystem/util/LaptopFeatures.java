@@ -0,0 +1,84 @@
+package com.example.laptoprecommendationsystem.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalized feature vectors for every row of a {@link CatalogSnapshot}, each feature scaled to [0, 1].
+ * RAM and storage are scaled on a log2 axis so that 8 to 16 GB counts as much as 16 to 32 GB.
+ */
+public final class LaptopFeatures {
+
+    private static final Pattern DISCRETE_GPU = Pattern.compile("rtx|gtx|geforce|radeon rx|arc a\\d|quadro", Pattern.CASE_INSENSITIVE);
+
+    private final float[] cheapness;
+    private final float[] memory;
+    private final float[] storage;
+    private final float[] discreteGraphics;
+    private final double minPrice;
+    private final double maxPrice;
+
+    public LaptopFeatures(CatalogSnapshot snapshot) {
+        int n = snapshot.size();
+        cheapness = new float[n];
+        memory = new float[n];
+        storage = new float[n];
+        discreteGraphics = new float[n];
+
+        double lowPrice = Double.POSITIVE_INFINITY;
+        double highPrice = Double.NEGATIVE_INFINITY;
+        double lowRam = Double.POSITIVE_INFINITY;
+        double highRam = Double.NEGATIVE_INFINITY;
+        double lowStorage = Double.POSITIVE_INFINITY;
+        double highStorage = Double.NEGATIVE_INFINITY;
+        for (int row = 0; row < n; row++) {
+            lowPrice = Math.min(lowPrice, snapshot.priceAt(row));
+            highPrice = Math.max(highPrice, snapshot.priceAt(row));
+            lowRam = Math.min(lowRam, log2(snapshot.ramGbAt(row)));
+            highRam = Math.max(highRam, log2(snapshot.ramGbAt(row)));
+            lowStorage = Math.min(lowStorage, log2(snapshot.storageGbAt(row)));
+            highStorage = Math.max(highStorage, log2(snapshot.storageGbAt(row)));
+        }
+        minPrice = lowPrice;
+        maxPrice = highPrice;
+
+        for (int row = 0; row < n; row++) {
+            cheapness[row] = 1f - scale(snapshot.priceAt(row), lowPrice, highPrice);
+            memory[row] = scale(log2(snapshot.ramGbAt(row)), lowRam, highRam);
+            storage[row] = scale(log2(snapshot.storageGbAt(row)), lowStorage, highStorage);
+            String graphics = snapshot.laptopAt(row).getGraphics();
+            discreteGraphics[row] = graphics != null && DISCRETE_GPU.matcher(graphics).find() ? 1f : 0f;
+        }
+    }
+
+    private static double log2(int value) {
+        return value > 0 ? Math.log(value) / Math.log(2) : 0;
+    }
+
+    private static float scale(double value, double low, double high) {
+        return high > low ? (float) ((value - low) / (high - low)) : 0f;
+    }
+
+    public float cheapnessAt(int row) {
+        return cheapness[row];
+    }
+
+    public float memoryAt(int row) {
+        return memory[row];
+    }
+
+    public float storageAt(int row) {
+        return storage[row];
+    }
+
+    public float discreteGraphicsAt(int row) {
+        return discreteGraphics[row];
+    }
+
+    public double getMinPrice() {
+        return minPrice;
+    }
+
+    public double getMaxPrice() {
+        return maxPrice;
+    }
+}
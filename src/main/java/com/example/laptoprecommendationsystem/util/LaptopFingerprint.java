@@ -0,0 +1,64 @@
+package com.example.laptoprecommendationsystem.util;
+
+import com.example.laptoprecommendationsystem.model.Laptop;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Identity and content fingerprints of feed rows, used to diff a supplier feed against the stored catalog.
+ */
+public final class LaptopFingerprint {
+
+    private static final char SEPARATOR = '\u001f';
+
+    private LaptopFingerprint() {
+    }
+
+    /**
+     * Builds the natural key of a laptop: brand plus product name, ignoring case and surrounding spaces.
+     * @param brandName The brand name, may be null.
+     * @param productName The product name, may be null.
+     * @return The natural key.
+     */
+    public static String naturalKey(String brandName, String productName) {
+        return normalize(brandName) + SEPARATOR + normalize(productName);
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value.trim().toLowerCase() : "";
+    }
+
+    /**
+     * Hashes every feed column of a laptop, so any change in the feed changes the hash.
+     * @param laptop The laptop as read from the feed.
+     * @return The SHA-256 of its feed columns, in hex.
+     */
+    public static String contentHash(Laptop laptop) {
+        StringBuilder content = new StringBuilder(256);
+        append(content, laptop.getBrandName());
+        append(content, laptop.getProductName());
+        append(content, Double.toString(laptop.getPrice()));
+        append(content, laptop.getImage());
+        append(content, laptop.getOs());
+        append(content, laptop.getProcessor());
+        append(content, laptop.getGraphics());
+        append(content, laptop.getDisplay());
+        append(content, laptop.getMemory());
+        append(content, laptop.getStorage());
+        append(content, laptop.getFilepath());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // Every JVM is required to provide it
+        }
+    }
+
+    // Nulls are written differently from empty strings so the two hash differently
+    private static void append(StringBuilder content, String value) {
+        content.append(value != null ? value : "\u0000").append(SEPARATOR);
+    }
+}
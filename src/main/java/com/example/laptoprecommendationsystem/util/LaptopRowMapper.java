@@ -0,0 +1,121 @@
+package com.example.laptoprecommendationsystem.util;
+
+import com.example.laptoprecommendationsystem.model.Laptop;
+
+import java.util.List;
+
+/**
+ * Maps rows of a supplier feed (Excel or CSV) to laptops using the feed's header row, so feeds with missing
+ * or reordered columns (e.g. products.csv has no brand column) load correctly.
+ * Instances are immutable and can be shared by several worker threads.
+ */
+public final class LaptopRowMapper {
+
+    private final int brandName;
+    private final int productName;
+    private final int price;
+    private final int image;
+    private final int os;
+    private final int processor;
+    private final int graphics;
+    private final int display;
+    private final int memory;
+    private final int storage;
+    private final int filepath;
+
+    private LaptopRowMapper(List<String> header) {
+        this.brandName = columnOf(header, "brandname");
+        this.productName = columnOf(header, "productname");
+        this.price = columnOf(header, "price");
+        this.image = columnOf(header, "image");
+        this.os = columnOf(header, "os");
+        this.processor = columnOf(header, "processor");
+        this.graphics = columnOf(header, "graphics");
+        this.display = columnOf(header, "display");
+        this.memory = columnOf(header, "memory");
+        this.storage = columnOf(header, "storage");
+        this.filepath = columnOf(header, "filepath");
+    }
+
+    /**
+     * Creates a mapper for a feed with the given header row.
+     * @param header The header cells, e.g. "Brand Name", "ProductName", "Price", ...
+     * @return The mapper.
+     */
+    public static LaptopRowMapper fromHeader(List<String> header) {
+        LaptopRowMapper mapper = new LaptopRowMapper(header);
+        if (mapper.productName < 0) {
+            throw new IllegalArgumentException("Header has no product name column: " + header);
+        }
+        return mapper;
+    }
+
+    // Header names are compared without case, spaces and underscores ("Brand Name", "brand_name", "Memory ")
+    private static int columnOf(List<String> header, String name) {
+        for (int column = 0; column < header.size(); column++) {
+            String cell = header.get(column);
+            if (cell != null && cell.replaceAll("[\\s_]", "").equalsIgnoreCase(name)) {
+                return column;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Maps one data row to a laptop, parses its typed spec columns and fingerprints its content.
+     * @param cells The row's cell values by column index.
+     * @return The laptop, or null if the row is empty.
+     */
+    public Laptop map(List<String> cells) {
+        if (isRowEmpty(cells)) {
+            return null;
+        }
+        Laptop laptop = new Laptop();
+        laptop.setBrandName(cellAt(cells, brandName));
+        laptop.setProductName(cellAt(cells, productName));
+        Double parsedPrice = parsePrice(cellAt(cells, price));
+        laptop.setPrice(parsedPrice != null ? parsedPrice : 0.0); // Default to 0 if price is missing
+        laptop.setImage(cellAt(cells, image));
+        laptop.setOs(cellAt(cells, os));
+        laptop.setProcessor(cellAt(cells, processor));
+        laptop.setGraphics(cellAt(cells, graphics));
+        laptop.setDisplay(cellAt(cells, display));
+        laptop.setMemory(cellAt(cells, memory));
+        laptop.setStorage(cellAt(cells, storage));
+        laptop.setFilepath(cellAt(cells, filepath));
+        SpecParser.normalize(laptop);
+        laptop.setContentHash(LaptopFingerprint.contentHash(laptop));
+        return laptop;
+    }
+
+    /**
+     * Cleans a price such as "$1,299.99" and parses it.
+     * @param rawValue The price cell value.
+     * @return The price, or null if it cannot be parsed.
+     */
+    public static Double parsePrice(String rawValue) {
+        if (rawValue == null) {
+            return null;
+        }
+        // Remove non-digit characters except the decimal point
+        String cleanedValue = rawValue.replaceAll("[^\\d.]", "");
+        try {
+            return Double.parseDouble(cleanedValue);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String cellAt(List<String> cells, int column) {
+        return column >= 0 && column < cells.size() ? cells.get(column) : null;
+    }
+
+    private static boolean isRowEmpty(List<String> cells) {
+        for (String cell : cells) {
+            if (cell != null && !cell.trim().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.laptoprecommendationsystem.util;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Multi-key sort over catalog snapshot rows.
+ * Rows are sorted as a primitive index array that is compared through the snapshot's primitive columns, so no
+ * laptops are touched or boxed while sorting. Small inputs use an introsort (median-of-three quicksort that falls
+ * back to heapsort when recursion gets too deep), large inputs a parallel merge sort with introsort leaves.
+ * Ties are broken by row, so the result is deterministic (and stable with respect to id order).
+ */
+public final class LaptopSortEngine {
+
+    public enum SortKey {
+        PRICE, RAM, STORAGE, SCREEN_SIZE, BRAND
+    }
+
+    /**
+     * One key of a multi-key ordering, e.g. "price ascending".
+     */
+    public static final class SortOrder {
+        private final SortKey key;
+        private final boolean ascending;
+
+        public SortOrder(SortKey key, boolean ascending) {
+            this.key = key;
+            this.ascending = ascending;
+        }
+
+        public SortKey getKey() {
+            return key;
+        }
+
+        public boolean isAscending() {
+            return ascending;
+        }
+    }
+
+    @FunctionalInterface
+    interface RowComparator {
+        int compare(int a, int b);
+    }
+
+    static final int INSERTION_SORT_THRESHOLD = 16;
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private LaptopSortEngine() {
+    }
+
+    /**
+     * Parses an ordering such as "price,ram:desc,brand".
+     * @param sortBy Comma separated keys (price, ram, storage, screenSize, brand), each optionally suffixed with ":asc" or ":desc".
+     * @param defaultOrder Direction for keys without a suffix ("asc" or "desc").
+     * @return The parsed ordering.
+     */
+    public static List<SortOrder> parse(String sortBy, String defaultOrder) {
+        boolean defaultAscending = !"desc".equalsIgnoreCase(defaultOrder);
+        List<SortOrder> orders = new ArrayList<>();
+        for (String part : sortBy.split(",")) {
+            String[] keyAndDirection = part.trim().split(":");
+            if (keyAndDirection[0].isEmpty()) {
+                continue;
+            }
+            boolean ascending = keyAndDirection.length > 1
+                    ? !"desc".equalsIgnoreCase(keyAndDirection[1].trim())
+                    : defaultAscending;
+            orders.add(new SortOrder(parseKey(keyAndDirection[0]), ascending));
+        }
+        if (orders.isEmpty()) {
+            throw new IllegalArgumentException("At least one sort key is required.");
+        }
+        return orders;
+    }
+
+    private static SortKey parseKey(String key) {
+        switch (key.toLowerCase()) {
+            case "price":
+                return SortKey.PRICE;
+            case "ram":
+            case "memory":
+                return SortKey.RAM;
+            case "storage":
+                return SortKey.STORAGE;
+            case "screensize":
+            case "screen":
+                return SortKey.SCREEN_SIZE;
+            case "brand":
+                return SortKey.BRAND;
+            default:
+                throw new IllegalArgumentException("Unsupported sort key: " + key);
+        }
+    }
+
+    /**
+     * Sorts every row of a snapshot.
+     * @param snapshot The catalog snapshot.
+     * @param orders The multi-key ordering.
+     * @return Row indexes in sorted order.
+     */
+    public static int[] sortRows(CatalogSnapshot snapshot, List<SortOrder> orders) {
+        int[] rows = new int[snapshot.size()];
+        for (int row = 0; row < rows.length; row++) {
+            rows[row] = row;
+        }
+        sortInPlace(snapshot, rows, orders);
+        return rows;
+    }
+
+    /**
+     * Sorts a set of snapshot rows in place, e.g. the output of a filter.
+     * @param snapshot The catalog snapshot the rows belong to.
+     * @param rows The row indexes to sort.
+     * @param orders The multi-key ordering.
+     */
+    public static void sortInPlace(CatalogSnapshot snapshot, int[] rows, List<SortOrder> orders) {
+        RowComparator comparator = comparator(snapshot, orders);
+        if (rows.length >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new ParallelSortTask(rows, new int[rows.length], 0, rows.length, comparator));
+        } else {
+            sort(rows, 0, rows.length, comparator);
+        }
+    }
+
+    static RowComparator comparator(CatalogSnapshot snapshot, List<SortOrder> orders) {
+        RowComparator result = Integer::compare; // Final tie-break on row (id order)
+        for (int i = orders.size() - 1; i >= 0; i--) {
+            RowComparator key = keyComparator(snapshot, orders.get(i).getKey());
+            RowComparator directed = orders.get(i).isAscending() ? key : (a, b) -> key.compare(b, a);
+            RowComparator next = result;
+            result = (a, b) -> {
+                int cmp = directed.compare(a, b);
+                return cmp != 0 ? cmp : next.compare(a, b);
+            };
+        }
+        return result;
+    }
+
+    private static RowComparator keyComparator(CatalogSnapshot snapshot, SortKey key) {
+        switch (key) {
+            case PRICE:
+                return (a, b) -> Double.compare(snapshot.priceAt(a), snapshot.priceAt(b));
+            case RAM:
+                return (a, b) -> Integer.compare(snapshot.ramGbAt(a), snapshot.ramGbAt(b));
+            case STORAGE:
+                return (a, b) -> Integer.compare(snapshot.storageGbAt(a), snapshot.storageGbAt(b));
+            case SCREEN_SIZE:
+                return (a, b) -> Float.compare(snapshot.screenInchesAt(a), snapshot.screenInchesAt(b));
+            case BRAND:
+                int[] brandRanks = brandRanks(snapshot);
+                return (a, b) -> Integer.compare(rank(brandRanks, snapshot.brandIdAt(a)), rank(brandRanks, snapshot.brandIdAt(b)));
+            default:
+                throw new IllegalArgumentException("Unsupported sort key: " + key);
+        }
+    }
+
+    // Alphabetical rank of every brand id, so brand comparisons are integer comparisons
+    private static int[] brandRanks(CatalogSnapshot snapshot) {
+        Integer[] brandIds = new Integer[snapshot.brandCount()];
+        for (int i = 0; i < brandIds.length; i++) {
+            brandIds[i] = i;
+        }
+        Arrays.sort(brandIds, Comparator.comparing(snapshot::brandName));
+        int[] ranks = new int[brandIds.length];
+        for (int rank = 0; rank < brandIds.length; rank++) {
+            ranks[brandIds[rank]] = rank;
+        }
+        return ranks;
+    }
+
+    private static int rank(int[] brandRanks, int brandId) {
+        return brandId >= 0 ? brandRanks[brandId] : -1; // Laptops without a brand sort first
+    }
+
+    /**
+     * Sorts {@code a[from, to)}. Already sorted and strictly reversed ranges are detected in linear time.
+     */
+    static void sort(int[] a, int from, int to, RowComparator c) {
+        if (to - from < 2) {
+            return;
+        }
+        boolean ascending = true;
+        boolean descending = true;
+        for (int i = from + 1; i < to && (ascending || descending); i++) {
+            int cmp = c.compare(a[i - 1], a[i]);
+            ascending &= cmp <= 0;
+            descending &= cmp > 0;
+        }
+        if (ascending) {
+            return;
+        }
+        if (descending) {
+            reverse(a, from, to);
+            return;
+        }
+        introSort(a, from, to, 2 * (31 - Integer.numberOfLeadingZeros(to - from)), c);
+    }
+
+    private static void introSort(int[] a, int from, int to, int depthLimit, RowComparator c) {
+        while (to - from > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(a, from, to, c);
+                return;
+            }
+            int split = partition(a, from, to, c);
+            // Recurse into the smaller half and loop on the larger one to keep the stack O(log n)
+            if (split + 1 - from < to - split - 1) {
+                introSort(a, from, split + 1, depthLimit, c);
+                from = split + 1;
+            } else {
+                introSort(a, split + 1, to, depthLimit, c);
+                to = split + 1;
+            }
+        }
+        insertionSort(a, from, to, c);
+    }
+
+    // Hoare partition around the median of the first, middle and last element; returns the last index of the left part
+    private static int partition(int[] a, int from, int to, RowComparator c) {
+        int last = to - 1;
+        int mid = (from + last) >>> 1;
+        if (c.compare(a[mid], a[from]) < 0) swap(a, mid, from);
+        if (c.compare(a[last], a[from]) < 0) swap(a, last, from);
+        if (c.compare(a[last], a[mid]) < 0) swap(a, last, mid);
+        int pivot = a[mid];
+
+        int i = from - 1;
+        int j = to;
+        while (true) {
+            do {
+                i++;
+            } while (c.compare(a[i], pivot) < 0);
+            do {
+                j--;
+            } while (c.compare(a[j], pivot) > 0);
+            if (i >= j) {
+                return j;
+            }
+            swap(a, i, j);
+        }
+    }
+
+    private static void insertionSort(int[] a, int from, int to, RowComparator c) {
+        for (int i = from + 1; i < to; i++) {
+            int value = a[i];
+            int j = i - 1;
+            while (j >= from && c.compare(a[j], value) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = value;
+        }
+    }
+
+    private static void heapSort(int[] a, int from, int to, RowComparator c) {
+        int n = to - from;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(a, from, i, n, c);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, from, from + end);
+            siftDown(a, from, 0, end, c);
+        }
+    }
+
+    private static void siftDown(int[] a, int offset, int index, int size, RowComparator c) {
+        int value = a[offset + index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && c.compare(a[offset + child + 1], a[offset + child]) > 0) {
+                child++;
+            }
+            if (c.compare(a[offset + child], value) <= 0) {
+                break;
+            }
+            a[offset + index] = a[offset + child];
+            index = child;
+        }
+        a[offset + index] = value;
+    }
+
+    private static void reverse(int[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            swap(a, i, j);
+        }
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int temp = a[i];
+        a[i] = a[j];
+        a[j] = temp;
+    }
+
+    /**
+     * Parallel merge sort; each half is sorted in its own task and merged through a shared scratch buffer.
+     */
+    private static final class ParallelSortTask extends RecursiveAction {
+        // Tasks only live inside one fork/join pool and are never serialized
+        private static final long serialVersionUID = 1L;
+
+        private final int[] a;
+        private final int[] buffer;
+        private final int from;
+        private final int to;
+        private final transient RowComparator c;
+
+        ParallelSortTask(int[] a, int[] buffer, int from, int to, RowComparator c) {
+            this.a = a;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD / 2) {
+                sort(a, from, to, c);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ParallelSortTask(a, buffer, from, mid, c), new ParallelSortTask(a, buffer, mid, to, c));
+            merge(mid);
+        }
+
+        private void merge(int mid) {
+            if (c.compare(a[mid - 1], a[mid]) <= 0) {
+                return; // Halves are already in order
+            }
+            System.arraycopy(a, from, buffer, from, mid - from);
+            int i = from;
+            int j = mid;
+            int k = from;
+            while (i < mid && j < to) {
+                a[k++] = c.compare(buffer[i], a[j]) <= 0 ? buffer[i++] : a[j++];
+            }
+            System.arraycopy(buffer, i, a, k, mid - i);
+        }
+    }
+}
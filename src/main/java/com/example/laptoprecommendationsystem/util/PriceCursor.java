@@ -0,0 +1,50 @@
+package com.example.laptoprecommendationsystem.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor holding the last seen (price, id) pair.
+ */
+public final class PriceCursor {
+
+    private final double price;
+    private final long id;
+
+    public PriceCursor(double price, long id) {
+        this.price = price;
+        this.id = id;
+    }
+
+    /**
+     * Encodes the cursor as a URL-safe token. The price is kept as raw bits so it round-trips exactly.
+     * @return The opaque cursor token.
+     */
+    public String encode() {
+        String raw = Long.toHexString(Double.doubleToLongBits(price)) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     * @param token The opaque cursor token.
+     * @return The decoded cursor.
+     */
+    public static PriceCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            return new PriceCursor(Double.longBitsToDouble(Long.parseUnsignedLong(parts[0], 16)), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
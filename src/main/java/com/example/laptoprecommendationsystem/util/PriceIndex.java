@@ -0,0 +1,133 @@
+package com.example.laptoprecommendationsystem.util;
+
+import com.example.laptoprecommendationsystem.dto.CursorPageDTO;
+import com.example.laptoprecommendationsystem.model.Laptop;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Price-ordered index of the catalog, maintained incrementally as laptops are saved and deleted.
+ * Reads walk the skip list directly, so a page costs O(log n + offset + size) and never sorts.
+ */
+public final class PriceIndex {
+
+    private final ConcurrentSkipListMap<PriceKey, Laptop> byPrice = new ConcurrentSkipListMap<>();
+    private final Map<Long, PriceKey> keysById = new ConcurrentHashMap<>();
+
+    public PriceIndex(Collection<Laptop> laptops) {
+        for (Laptop laptop : laptops) {
+            put(laptop);
+        }
+    }
+
+    /**
+     * Adds a laptop, or moves it to its new position if its price changed.
+     * @param laptop The persisted laptop.
+     */
+    public synchronized void put(Laptop laptop) {
+        if (laptop == null || laptop.getId() == null) {
+            return;
+        }
+        PriceKey key = new PriceKey(laptop.getPrice(), laptop.getId());
+        // Drop the old entry first, so a price change that maps to an equal key cannot remove the new one
+        PriceKey previous = keysById.put(laptop.getId(), key);
+        if (previous != null) {
+            byPrice.remove(previous);
+        }
+        byPrice.put(key, laptop);
+    }
+
+    /**
+     * Removes a laptop from the index.
+     * @param id The id of the deleted laptop.
+     */
+    public synchronized void remove(Long id) {
+        PriceKey previous = keysById.remove(id);
+        if (previous != null) {
+            byPrice.remove(previous);
+        }
+    }
+
+    /**
+     * Reads one page by offset.
+     * @param ascending Price direction.
+     * @param offset Number of laptops to skip.
+     * @param limit Maximum number of laptops to return.
+     * @return The page, with a cursor to the next page if there is one.
+     */
+    public CursorPageDTO<Laptop> page(boolean ascending, long offset, int limit) {
+        return read(ascending ? byPrice : byPrice.descendingMap(), offset, limit);
+    }
+
+    /**
+     * Reads the page that follows a cursor.
+     * @param ascending Price direction.
+     * @param cursor The last (price, id) seen by the client.
+     * @param limit Maximum number of laptops to return.
+     * @return The page, with a cursor to the next page if there is one.
+     */
+    public CursorPageDTO<Laptop> after(boolean ascending, PriceCursor cursor, int limit) {
+        PriceKey key = new PriceKey(cursor.getPrice(), cursor.getId());
+        ConcurrentNavigableMap<PriceKey, Laptop> view = ascending
+                ? byPrice.tailMap(key, false)
+                : byPrice.headMap(key, false).descendingMap();
+        return read(view, 0, limit);
+    }
+
+    private CursorPageDTO<Laptop> read(NavigableMap<PriceKey, Laptop> view, long offset, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        List<Laptop> laptops = new ArrayList<>(limit);
+        PriceKey last = null;
+        boolean hasMore = false;
+        Iterator<Map.Entry<PriceKey, Laptop>> iterator = view.entrySet().iterator();
+        for (long skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (iterator.hasNext()) {
+            Map.Entry<PriceKey, Laptop> entry = iterator.next();
+            if (laptops.size() == limit) {
+                hasMore = true;
+                break;
+            }
+            laptops.add(entry.getValue());
+            last = entry.getKey();
+        }
+        String nextCursor = hasMore ? new PriceCursor(last.price, last.id).encode() : null;
+        return new CursorPageDTO<>(laptops, nextCursor);
+    }
+
+    public int size() {
+        return keysById.size();
+    }
+
+    private static final class PriceKey implements Comparable<PriceKey> {
+        private final double price;
+        private final long id;
+
+        PriceKey(double price, long id) {
+            this.price = price;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(PriceKey other) {
+            int cmp = Double.compare(price, other.price);
+            return cmp != 0 ? cmp : Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof PriceKey && compareTo((PriceKey) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(price, id);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.laptoprecommendationsystem.util;
+
+import com.example.laptoprecommendationsystem.dto.LaptopDTO;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Client-selected subset of laptop summary fields, parsed from a {@code fields=} request parameter
+ * such as "id,productName,price".
+ */
+public final class SparseFieldset {
+
+    private static final Map<String, Function<LaptopDTO, Object>> ACCESSORS = new LinkedHashMap<>();
+
+    static {
+        ACCESSORS.put("id", LaptopDTO::getId);
+        ACCESSORS.put("brandName", LaptopDTO::getBrandName);
+        ACCESSORS.put("productName", LaptopDTO::getProductName);
+        ACCESSORS.put("price", LaptopDTO::getPrice);
+        ACCESSORS.put("processor", LaptopDTO::getProcessor);
+        ACCESSORS.put("graphics", LaptopDTO::getGraphics);
+        ACCESSORS.put("display", LaptopDTO::getDisplay);
+        ACCESSORS.put("memory", LaptopDTO::getMemory);
+        ACCESSORS.put("storage", LaptopDTO::getStorage);
+        ACCESSORS.put("ramGb", LaptopDTO::getRamGb);
+        ACCESSORS.put("storageGb", LaptopDTO::getStorageGb);
+        ACCESSORS.put("screenInches", LaptopDTO::getScreenInches);
+        ACCESSORS.put("cpuFamily", LaptopDTO::getCpuFamily);
+        ACCESSORS.put("cpuCores", LaptopDTO::getCpuCores);
+    }
+
+    private final List<String> fields;
+
+    private SparseFieldset(List<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Parses a comma separated list of field names; "summary" selects every summary field.
+     * @param fields The requested fields.
+     * @return The parsed fieldset.
+     */
+    public static SparseFieldset parse(String fields) {
+        List<String> selected = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (name.equals("summary")) {
+                selected.addAll(ACCESSORS.keySet());
+            } else if (ACCESSORS.containsKey(name)) {
+                selected.add(name);
+            } else {
+                throw new IllegalArgumentException("Unsupported field: " + name + ". Supported fields: " + ACCESSORS.keySet());
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("At least one field is required.");
+        }
+        return new SparseFieldset(new ArrayList<>(new LinkedHashSet<>(selected)));
+    }
+
+    /**
+     * Keeps only the selected fields of a laptop summary.
+     * @param laptop The laptop summary.
+     * @return The selected fields in request order.
+     */
+    public Map<String, Object> apply(LaptopDTO laptop) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String field : fields) {
+            result.put(field, ACCESSORS.get(field).apply(laptop));
+        }
+        return result;
+    }
+
+    /**
+     * Keeps only the selected fields of each laptop summary.
+     * @param laptops The laptop summaries.
+     * @return One map of selected fields per laptop.
+     */
+    public List<Map<String, Object>> apply(List<LaptopDTO> laptops) {
+        List<Map<String, Object>> result = new ArrayList<>(laptops.size());
+        for (LaptopDTO laptop : laptops) {
+            result.add(apply(laptop));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.laptoprecommendationsystem.util;
+
+import com.example.laptoprecommendationsystem.model.Laptop;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the free-text spec columns of supplier feeds into typed values, once, at ingest.
+ * Feeds differ widely ("8 GB LPDDR5 (2x4GB)", "16GB DDR5 2x8GB 5600MT/s", "1 TB M.2 NVMe PCIe 3.0 SSD",
+ * "15.6-in. display Full HD (1920X1080)", "Intel CoreTM Ultra 7 155H"), so every parser looks for a number together
+ * with its unit or context instead of taking the first digits it finds.
+ */
+public class SpecParser {
+
+    /**
+     * Version of the parsing rules. Rows normalized with an older version are re-normalized at startup.
+     */
+    public static final int VERSION = 2;
+
+    private static final Pattern SIZE_WITH_UNIT = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*(GB|TB)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern BARE_NUMBER = Pattern.compile("^\\s*(\\d+)\\s*$");
+    private static final Pattern SCREEN_INCHES = Pattern.compile("(\\d{1,2}(?:\\.\\d+)?)\\s*(?:\"|''|”|″|-?\\s*in(?:ch(?:es)?)?\\b)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LEADING_SCREEN_INCHES = Pattern.compile("^\\s*(?:up to\\s+)?(\\d{2}(?:\\.\\d+)?)(?![\\d.:x])", Pattern.CASE_INSENSITIVE);
+    private static final Pattern RESOLUTION = Pattern.compile("(\\d{3,4})\\s*[x×]\\s*(\\d{3,4})", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CPU_CORES = Pattern.compile("\\b(dual|quad|hexa|octa|deca|dodeca|\\d{1,2})[-\\s]?cores?\\b", Pattern.CASE_INSENSITIVE);
+    private static final float MIN_SCREEN_INCHES = 7f;
+    private static final float MAX_SCREEN_INCHES = 21f;
+
+    // Marketing names of display resolutions, most specific first ("Full HD+" before "Full HD" before "HD")
+    private static final Object[][] NAMED_RESOLUTIONS = {
+            {Pattern.compile("ultra hd\\+|uhd\\+|wquxga"), 3840, 2400},
+            {Pattern.compile("\\b4k\\b|ultra hd|\\buhd\\b"), 3840, 2160},
+            {Pattern.compile("3\\.2k"), 3200, 2000},
+            {Pattern.compile("wqxga\\+|2\\.8k|\\b3k\\b"), 2880, 1800},
+            {Pattern.compile("quad hd\\+|qhd\\+|wqxga|2\\.5k"), 2560, 1600},
+            {Pattern.compile("quad hd|\\bw?qhd\\b|\\b2k\\b"), 2560, 1440},
+            {Pattern.compile("2\\.2k"), 2240, 1400},
+            {Pattern.compile("full hd\\+|fhd\\+|wuxga"), 1920, 1200},
+            {Pattern.compile("full hd|\\bfhd\\b"), 1920, 1080},
+            {Pattern.compile("\\bhd\\+"), 1600, 900},
+            {Pattern.compile("\\bhd\\b"), 1366, 768},
+    };
+
+    // CPU families, most specific first; "$n" refers to the n-th group
+    private static final Object[][] CPU_FAMILIES = {
+            {Pattern.compile("(?:core|intel)\\s+ultra\\s+([3579])\\b"), "Intel Core Ultra $1"},
+            {Pattern.compile("core\\s+(i[3579])\\b|\\b(i[3579])-\\d{4}"), "Intel Core $1$2"},
+            {Pattern.compile("core\\s+([3579])\\s+\\d{2}"), "Intel Core $1"},
+            {Pattern.compile("ryzen\\s+ai\\s+(?:max\\+?\\s+)?(?:hx\\s+)?([3579])\\b"), "AMD Ryzen AI $1"},
+            {Pattern.compile("ryzen\\s+([3579])\\b"), "AMD Ryzen $1"},
+            {Pattern.compile("\\bm([1-4])\\s+(pro|max|ultra)\\b"), "Apple M$1 $2"},
+            {Pattern.compile("apple\\s+m([1-4])\\b"), "Apple M$1"},
+            {Pattern.compile("snapdragon\\s+x\\s+(elite|plus)"), "Qualcomm Snapdragon X $1"},
+            {Pattern.compile("snapdragon"), "Qualcomm Snapdragon"},
+            {Pattern.compile("celeron"), "Intel Celeron"},
+            {Pattern.compile("pentium"), "Intel Pentium"},
+            {Pattern.compile("xeon"), "Intel Xeon"},
+            {Pattern.compile("intel.*\\bn(?:-series|\\d{2,3})\\b"), "Intel N-series"},
+            {Pattern.compile("athlon"), "AMD Athlon"},
+            {Pattern.compile("mediatek|kompanio"), "MediaTek"},
+    };
+
+    private SpecParser() {
+    }
+
+    /**
+     * Parses the free-text spec columns of a laptop into its typed columns.
+     * @param laptop The laptop to normalize in place.
+     */
+    public static void normalize(Laptop laptop) {
+        laptop.setRamGb(parseMemory(laptop.getMemory()));
+        laptop.setStorageGb(parseStorage(laptop.getStorage()));
+        laptop.setScreenInches(parseScreenInches(laptop.getDisplay()));
+        int[] resolution = parseResolution(laptop.getDisplay());
+        laptop.setResolutionWidth(resolution != null ? resolution[0] : null);
+        laptop.setResolutionHeight(resolution != null ? resolution[1] : null);
+        laptop.setCpuFamily(parseCpuFamily(laptop.getProcessor()));
+        laptop.setCpuCores(parseCpuCores(laptop.getProcessor()));
+        laptop.setSpecVersion(VERSION);
+    }
+
+    /**
+     * Parses memory size from a string (e.g., "8GB" to 8, "16GB DDR5 2x8GB" to 16).
+     * @param memory The memory string (e.g., "8GB", "16 GB LPDDR5X").
+     * @return The memory size in GB, or 0 if no size is found.
+     */
+    public static int parseMemory(String memory) {
+        if (memory == null) {
+            return 0;
+        }
+        // The first size with a unit is the total; later ones describe the modules ("2x8GB")
+        Matcher matcher = SIZE_WITH_UNIT.matcher(memory);
+        if (matcher.find()) {
+            return toGb(matcher);
+        }
+        matcher = BARE_NUMBER.matcher(memory);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    /**
+     * Parses storage size from a string (e.g., "512GB" to 512, "1TB" to 1024, "1 TB SSD + 256GB" to 1280).
+     * @param storage The storage string.
+     * @return The total storage in GB, or 0 if no size is found.
+     */
+    public static int parseStorage(String storage) {
+        if (storage == null) {
+            return 0;
+        }
+        // Drives joined with "+" add up; otherwise only the first size counts (not "PCIe 3.0" or "Gen4")
+        int total = 0;
+        for (String drive : storage.split("\\+")) {
+            Matcher matcher = SIZE_WITH_UNIT.matcher(drive);
+            if (matcher.find()) {
+                total += toGb(matcher);
+            }
+        }
+        if (total == 0) {
+            Matcher matcher = BARE_NUMBER.matcher(storage);
+            return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+        }
+        return total;
+    }
+
+    private static int toGb(Matcher sizeWithUnit) {
+        double size = Double.parseDouble(sizeWithUnit.group(1));
+        return (int) Math.round(sizeWithUnit.group(2).equalsIgnoreCase("TB") ? size * 1024 : size);
+    }
+
+    /**
+     * Parses the diagonal screen size from a display string (e.g., "15.6\" Full HD" or "15.6-in. display" to 15.6).
+     * @param display The display description.
+     * @return The screen size in inches, or 0 if none is found.
+     */
+    public static double parseScreenInches(String display) {
+        if (display == null) {
+            return 0;
+        }
+        Matcher matcher = SCREEN_INCHES.matcher(display);
+        while (matcher.find()) {
+            double inches = Double.parseDouble(matcher.group(1));
+            if (inches >= MIN_SCREEN_INCHES && inches <= MAX_SCREEN_INCHES) {
+                return inches;
+            }
+        }
+        // Some suppliers omit the inch mark (e.g. " 14 WUXGA "), so accept a leading size, but not an aspect ratio ("16:10")
+        matcher = LEADING_SCREEN_INCHES.matcher(display);
+        if (matcher.find()) {
+            double inches = Double.parseDouble(matcher.group(1));
+            if (inches >= MIN_SCREEN_INCHES && inches <= MAX_SCREEN_INCHES) {
+                return inches;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Parses the display resolution, from explicit pixels ("1920 x 1080") or a marketing name ("WUXGA", "2.8K").
+     * @param display The display description.
+     * @return The width and height in pixels, or null if unknown.
+     */
+    public static int[] parseResolution(String display) {
+        if (display == null) {
+            return null;
+        }
+        Matcher matcher = RESOLUTION.matcher(display);
+        if (matcher.find()) {
+            int a = Integer.parseInt(matcher.group(1));
+            int b = Integer.parseInt(matcher.group(2));
+            return new int[]{Math.max(a, b), Math.min(a, b)};
+        }
+        String lower = display.toLowerCase();
+        for (Object[] named : NAMED_RESOLUTIONS) {
+            if (((Pattern) named[0]).matcher(lower).find()) {
+                return new int[]{(Integer) named[1], (Integer) named[2]};
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses the CPU family (e.g. "13th Gen Intel CoreTM i7-13620H" to "Intel Core i7").
+     * @param processor The processor description.
+     * @return The CPU family, or null if unknown.
+     */
+    public static String parseCpuFamily(String processor) {
+        if (processor == null) {
+            return null;
+        }
+        String cleaned = cleanProcessor(processor);
+        for (Object[] family : CPU_FAMILIES) {
+            Matcher matcher = ((Pattern) family[0]).matcher(cleaned);
+            if (matcher.find()) {
+                return expandFamily(matcher, (String) family[1]);
+            }
+        }
+        return null;
+    }
+
+    // Fills the family template with the matched groups; word groups such as "pro" become "Pro"
+    private static String expandFamily(Matcher matcher, String template) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < template.length(); i++) {
+            char c = template.charAt(i);
+            if (c == '$' && i + 1 < template.length() && Character.isDigit(template.charAt(i + 1))) {
+                String group = matcher.group(template.charAt(++i) - '0');
+                if (group == null) {
+                    continue;
+                }
+                result.append(group.length() > 1 && Character.isLetter(group.charAt(1))
+                        ? Character.toUpperCase(group.charAt(0)) + group.substring(1)
+                        : group);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    // Lower-cases and removes trademark signs, including mis-encoded ones ("CoreTM", "Coreâ\u0084¢", "Intel®")
+    private static String cleanProcessor(String processor) {
+        String ascii = processor.replaceAll("[^\\x20-\\x7E]", " ").replace('?', ' ').toLowerCase();
+        return ascii.replaceAll("\\((?:tm|r)\\)|(?<=[a-z])tm\\b|(?<=core|ryzen)tm", " ").replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Parses the number of CPU cores (e.g. "(Quad-core, 2.40 GHz)" to 4, "10-Core" to 10).
+     * @param processor The processor description.
+     * @return The core count, or null if not stated.
+     */
+    public static Integer parseCpuCores(String processor) {
+        if (processor == null) {
+            return null;
+        }
+        Matcher matcher = CPU_CORES.matcher(processor);
+        if (!matcher.find()) {
+            return null;
+        }
+        switch (matcher.group(1).toLowerCase()) {
+            case "dual":
+                return 2;
+            case "quad":
+                return 4;
+            case "hexa":
+                return 6;
+            case "octa":
+                return 8;
+            case "deca":
+                return 10;
+            case "dodeca":
+                return 12;
+            default:
+                return Integer.parseInt(matcher.group(1));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.laptoprecommendationsystem.util;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Reads the first sheet of an .xlsx file with POI's SAX event model and hands it over row by row.
+ * Unlike {@code WorkbookFactory.create}, no workbook object model is built: only the shared strings table and the
+ * current row are held in memory, so memory use does not grow with the number of rows.
+ */
+public final class StreamingXlsxReader {
+
+    @FunctionalInterface
+    public interface RowConsumer {
+        /**
+         * @param rowIndex The 0-based row index in the sheet.
+         * @param cells The formatted cell values by column index; missing cells are null.
+         */
+        void accept(int rowIndex, List<String> cells);
+    }
+
+    private StreamingXlsxReader() {
+    }
+
+    /**
+     * Streams every row of the first sheet to the consumer, in sheet order.
+     * @param filePath The path of the .xlsx file.
+     * @param consumer Receives each row as it is parsed.
+     * @throws IOException If the file cannot be read or is not a valid .xlsx file.
+     */
+    public static void read(String filePath, RowConsumer consumer) throws IOException {
+        File file = new File(filePath);
+        if (!file.isFile()) {
+            throw new FileNotFoundException(filePath);
+        }
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                // Cached results are reported for formula cells, like getStringCellValue on a workbook
+                parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), sharedStrings,
+                        new RowCollector(consumer), new DataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Error reading Excel file: " + filePath, e);
+        }
+    }
+
+    /**
+     * Collects the cells of one row and emits them when the row ends.
+     */
+    private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RowConsumer consumer;
+        private List<String> cells = new ArrayList<>();
+
+        RowCollector(RowConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells = new ArrayList<>();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            consumer.accept(rowNum, cells);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // Blank cells are skipped by the parser, so pad up to this cell's column
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : cells.size();
+            while (cells.size() < column) {
+                cells.add(null);
+            }
+            cells.add(formattedValue);
+        }
+    }
+}
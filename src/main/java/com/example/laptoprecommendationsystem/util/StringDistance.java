@@ -0,0 +1,239 @@
+package com.example.laptoprecommendationsystem.util;
+
+/**
+ * Edit distance kernel shared by the search and vocabulary code.
+ * <ul>
+ *   <li>Common prefixes and suffixes are stripped first; they never change the distance.</li>
+ *   <li>Levenshtein distance uses Myers' bit-parallel algorithm (Hyyrö's formulation) when the shorter string has at
+ *   most 64 characters: one machine word holds a whole DP column, so each character of the longer string costs a
+ *   few bit operations.</li>
+ *   <li>Longer strings, and optimal string alignment (Damerau transpositions), use Ukkonen's band: with a threshold
+ *   k only the 2k + 1 diagonals around the main one are filled, and the DP stops as soon as a row exceeds k.</li>
+ * </ul>
+ * Work buffers are thread-local, so no call allocates.
+ */
+public final class StringDistance {
+
+    private static final int MAX_BIT_PARALLEL_LENGTH = 64;
+
+    private static final class Buffers {
+        // Match masks of the pattern characters: a table for ASCII and a short list for anything else
+        final long[] asciiMasks = new long[128];
+        final char[] otherChars = new char[MAX_BIT_PARALLEL_LENGTH];
+        final long[] otherMasks = new long[MAX_BIT_PARALLEL_LENGTH];
+        int otherCount;
+        int[] row0 = new int[64];
+        int[] row1 = new int[64];
+        int[] row2 = new int[64];
+
+        void ensureRows(int length) {
+            if (row0.length < length) {
+                int size = Math.max(length, row0.length * 2);
+                row0 = new int[size];
+                row1 = new int[size];
+                row2 = new int[size];
+            }
+        }
+    }
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private StringDistance() {
+    }
+
+    /**
+     * Computes the Levenshtein distance (insertions, deletions and substitutions).
+     * @param a The first string.
+     * @param b The second string.
+     * @return The edit distance.
+     */
+    public static int levenshtein(String a, String b) {
+        return levenshtein(a, b, Integer.MAX_VALUE - 1);
+    }
+
+    /**
+     * Computes the Levenshtein distance, giving up as soon as it is known to exceed a threshold.
+     * @param a The first string.
+     * @param b The second string.
+     * @param maxDistance The threshold.
+     * @return The edit distance if it is at most {@code maxDistance}, otherwise {@code maxDistance + 1}.
+     */
+    public static int levenshtein(String a, String b, int maxDistance) {
+        return distance(a, b, maxDistance, false);
+    }
+
+    /**
+     * Computes the optimal string alignment distance: Levenshtein plus transpositions of adjacent characters, where
+     * no substring is edited more than once.
+     * @param a The first string.
+     * @param b The second string.
+     * @param maxDistance The threshold.
+     * @return The distance if it is at most {@code maxDistance}, otherwise {@code maxDistance + 1}.
+     */
+    public static int optimalStringAlignment(String a, String b, int maxDistance) {
+        return distance(a, b, maxDistance, true);
+    }
+
+    private static int distance(String a, String b, int maxDistance, boolean transpositions) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("maxDistance must not be negative");
+        }
+        // Let a be the shorter string
+        if (a.length() > b.length()) {
+            String swap = a;
+            a = b;
+            b = swap;
+        }
+        int start = 0;
+        int aEnd = a.length();
+        int bEnd = b.length();
+        while (start < aEnd && a.charAt(start) == b.charAt(start)) {
+            start++;
+        }
+        while (aEnd > start && a.charAt(aEnd - 1) == b.charAt(bEnd - 1)) {
+            aEnd--;
+            bEnd--;
+        }
+        int m = aEnd - start;
+        int n = bEnd - start;
+        if (n - m > maxDistance) {
+            return maxDistance + 1;
+        }
+        if (m == 0) {
+            return n;
+        }
+        if (!transpositions && m <= MAX_BIT_PARALLEL_LENGTH) {
+            return myers(a, start, m, b, start, n, maxDistance);
+        }
+        return banded(a, start, m, b, start, n, maxDistance, transpositions);
+    }
+
+    // Myers/Hyyrö bit-vector edit distance; a[aFrom, aFrom + m) is the pattern, with 1 <= m <= 64
+    private static int myers(String a, int aFrom, int m, String b, int bFrom, int n, int maxDistance) {
+        Buffers buffers = BUFFERS.get();
+        for (int i = 0; i < m; i++) {
+            char c = a.charAt(aFrom + i);
+            long bit = 1L << i;
+            if (c < 128) {
+                buffers.asciiMasks[c] |= bit;
+            } else {
+                addOtherMask(buffers, c, bit);
+            }
+        }
+
+        long pv = m == 64 ? -1L : (1L << m) - 1;
+        long mv = 0;
+        long last = 1L << (m - 1);
+        int score = m;
+        try {
+            for (int j = 0; j < n; j++) {
+                char c = b.charAt(bFrom + j);
+                long eq = c < 128 ? buffers.asciiMasks[c] : otherMask(buffers, c);
+                long xv = eq | mv;
+                long xh = (((eq & pv) + pv) ^ pv) | eq;
+                long ph = mv | ~(xh | pv);
+                long mh = pv & xh;
+                if ((ph & last) != 0) {
+                    score++;
+                } else if ((mh & last) != 0) {
+                    score--;
+                }
+                // Row 0 of the DP is 0, 1, 2, ..., so every horizontal step on it is +1
+                ph = (ph << 1) | 1;
+                mh <<= 1;
+                pv = mh | ~(xv | ph);
+                mv = ph & xv;
+                // The final score can drop by at most one per remaining character
+                if (score - (n - j - 1) > maxDistance) {
+                    return maxDistance + 1;
+                }
+            }
+            return Math.min(score, maxDistance + 1);
+        } finally {
+            for (int i = 0; i < m; i++) {
+                char c = a.charAt(aFrom + i);
+                if (c < 128) {
+                    buffers.asciiMasks[c] = 0;
+                }
+            }
+            buffers.otherCount = 0;
+        }
+    }
+
+    private static void addOtherMask(Buffers buffers, char c, long bit) {
+        for (int i = 0; i < buffers.otherCount; i++) {
+            if (buffers.otherChars[i] == c) {
+                buffers.otherMasks[i] |= bit;
+                return;
+            }
+        }
+        buffers.otherChars[buffers.otherCount] = c;
+        buffers.otherMasks[buffers.otherCount++] = bit;
+    }
+
+    private static long otherMask(Buffers buffers, char c) {
+        for (int i = 0; i < buffers.otherCount; i++) {
+            if (buffers.otherChars[i] == c) {
+                return buffers.otherMasks[i];
+            }
+        }
+        return 0;
+    }
+
+    // Ukkonen's banded DP over a[aFrom, aFrom + m) (columns) and b[bFrom, bFrom + n) (rows), with m <= n
+    private static int banded(String a, int aFrom, int m, String b, int bFrom, int n, int maxDistance,
+                              boolean transpositions) {
+        // Beyond max(m, n) the band covers the whole matrix anyway
+        int k = Math.min(maxDistance, n);
+        int outside = k + 1;
+        Buffers buffers = BUFFERS.get();
+        buffers.ensureRows(m + 2);
+        int[] previous = buffers.row0;
+        int[] current = buffers.row1;
+        int[] beforePrevious = buffers.row2;
+
+        int firstHi = Math.min(m, k);
+        for (int j = 0; j <= firstHi; j++) {
+            previous[j] = j;
+        }
+        if (firstHi < m) {
+            previous[firstHi + 1] = outside;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            int lo = Math.max(1, i - k);
+            int hi = Math.min(m, i + k);
+            if (lo > hi) {
+                return maxDistance + 1;
+            }
+            current[lo - 1] = lo == 1 ? Math.min(i, outside) : outside;
+            char bc = b.charAt(bFrom + i - 1);
+            int rowMin = outside;
+            for (int j = lo; j <= hi; j++) {
+                char ac = a.charAt(aFrom + j - 1);
+                int value = previous[j - 1] + (ac == bc ? 0 : 1);
+                value = Math.min(value, previous[j] + 1);
+                value = Math.min(value, current[j - 1] + 1);
+                if (transpositions && i > 1 && j > 1 && ac == b.charAt(bFrom + i - 2) && a.charAt(aFrom + j - 2) == bc) {
+                    value = Math.min(value, beforePrevious[j - 2] + 1);
+                }
+                value = Math.min(value, outside);
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            // The next row reads one column further right than this row's band
+            if (hi < m) {
+                current[hi + 1] = outside;
+            }
+            if (rowMin > k) {
+                return maxDistance + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        int result = previous[m];
+        return result <= maxDistance ? result : maxDistance + 1;
+    }
+}
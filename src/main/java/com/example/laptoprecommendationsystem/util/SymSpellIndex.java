@@ -0,0 +1,233 @@
+package com.example.laptoprecommendationsystem.util;
+
+import java.util.*;
+
+/**
+ * Symmetric-delete (SymSpell) index over the words and word n-grams of the product names in a {@link CatalogSnapshot}.
+ * Every term is stored under all variants of its prefix with up to {@code maxDistance} characters deleted. Two strings
+ * within edit distance d share such a variant, so a fuzzy lookup generates the deletes of the query, probes the map
+ * for each and verifies only the terms found, instead of comparing the query with every product name.
+ */
+public final class SymSpellIndex {
+
+    /**
+     * A laptop whose product name has a word or n-gram within the requested distance of the query.
+     */
+    public static final class Match {
+        private final int row;
+        private final int distance;
+        private final boolean nGram;
+
+        Match(int row, int distance, boolean nGram) {
+            this.row = row;
+            this.distance = distance;
+            this.nGram = nGram;
+        }
+
+        /**
+         * @return The snapshot row of the laptop.
+         */
+        public int getRow() {
+            return row;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+
+        /**
+         * @return True if the best match was a multi-word n-gram rather than a single word.
+         */
+        public boolean isNGram() {
+            return nGram;
+        }
+    }
+
+    private final CatalogSnapshot snapshot;
+    private final int maxDistance;
+    private final int prefixLength;
+    private final int maxNGram;
+    private final String[] terms;
+    private final int[] termWords;
+    private final int[][] termRows;
+    private final Map<String, int[]> deletes;
+
+    private SymSpellIndex(CatalogSnapshot snapshot, int maxDistance, int prefixLength, int maxNGram, String[] terms,
+                          int[] termWords, int[][] termRows, Map<String, int[]> deletes) {
+        this.snapshot = snapshot;
+        this.maxDistance = maxDistance;
+        this.prefixLength = prefixLength;
+        this.maxNGram = maxNGram;
+        this.terms = terms;
+        this.termWords = termWords;
+        this.termRows = termRows;
+        this.deletes = deletes;
+    }
+
+    /**
+     * Builds the index over the product names of a snapshot.
+     * @param snapshot The catalog snapshot.
+     * @param maxDistance The largest edit distance lookups may ask for.
+     * @param prefixLength Only the first characters of each term are expanded into deletes, which bounds the index size.
+     * @param maxNGram The longest n-gram, in words, that is indexed.
+     * @return The index.
+     */
+    public static SymSpellIndex build(CatalogSnapshot snapshot, int maxDistance, int prefixLength, int maxNGram) {
+        if (maxDistance < 0 || prefixLength <= maxDistance || maxNGram < 1) {
+            throw new IllegalArgumentException("Invalid fuzzy index settings: distance " + maxDistance
+                    + ", prefix length " + prefixLength + ", n-gram " + maxNGram);
+        }
+        // Distinct terms with the rows whose product name contains them
+        Map<String, List<Integer>> rowsByTerm = new HashMap<>();
+        for (int row = 0; row < snapshot.size(); row++) {
+            String name = snapshot.laptopAt(row).getProductName();
+            if (name == null) {
+                continue;
+            }
+            String[] words = normalize(name).split(" ");
+            for (int size = 1; size <= Math.min(maxNGram, words.length); size++) {
+                for (int start = 0; start + size <= words.length; start++) {
+                    String term = String.join(" ", Arrays.asList(words).subList(start, start + size));
+                    if (term.isEmpty()) {
+                        continue;
+                    }
+                    List<Integer> rows = rowsByTerm.computeIfAbsent(term, key -> new ArrayList<>());
+                    if (rows.isEmpty() || rows.get(rows.size() - 1) != row) {
+                        rows.add(row);
+                    }
+                }
+            }
+        }
+
+        String[] terms = rowsByTerm.keySet().toArray(new String[0]);
+        int[] termWords = new int[terms.length];
+        int[][] termRows = new int[terms.length][];
+        Map<String, int[]> deletes = new HashMap<>();
+        Set<String> variants = new HashSet<>();
+        for (int term = 0; term < terms.length; term++) {
+            termWords[term] = wordCount(terms[term]);
+            termRows[term] = rowsByTerm.get(terms[term]).stream().mapToInt(Integer::intValue).toArray();
+            variants.clear();
+            collectDeletes(prefix(terms[term], prefixLength), maxDistance, variants);
+            for (String variant : variants) {
+                int[] list = deletes.get(variant);
+                if (list == null) {
+                    deletes.put(variant, new int[]{term});
+                } else {
+                    int[] grown = Arrays.copyOf(list, list.length + 1);
+                    grown[list.length] = term;
+                    deletes.put(variant, grown);
+                }
+            }
+        }
+        return new SymSpellIndex(snapshot, maxDistance, prefixLength, maxNGram, terms, termWords, termRows, deletes);
+    }
+
+    /**
+     * Finds the laptops with a product-name word within {@code distance} of the query, or, for a multi-word query, an
+     * n-gram of the same number of words within {@code distance}. Each laptop is reported once, with its best match.
+     * @param query The search term.
+     * @param distance The largest accepted edit distance, at most the index's maximum distance.
+     * @return The matches ordered by distance, single words before n-grams, then by row.
+     */
+    public List<Match> lookup(String query, int distance) {
+        if (distance > maxDistance) {
+            throw new IllegalArgumentException("Distance " + distance + " exceeds the indexed maximum " + maxDistance);
+        }
+        String normalized = normalize(query);
+        int queryWords = wordCount(normalized);
+
+        Set<String> variants = new HashSet<>();
+        collectDeletes(prefix(normalized, prefixLength), distance, variants);
+        Map<Integer, Match> best = new HashMap<>();
+        BitSet checked = new BitSet(terms.length);
+        for (String variant : variants) {
+            int[] candidates = deletes.get(variant);
+            if (candidates == null) {
+                continue;
+            }
+            for (int term : candidates) {
+                if (checked.get(term)) {
+                    continue;
+                }
+                checked.set(term);
+                // Words are compared with the whole query; longer n-grams only with queries of the same length
+                boolean nGram = termWords[term] > 1;
+                if ((nGram && termWords[term] != queryWords)
+                        || Math.abs(terms[term].length() - normalized.length()) > distance) {
+                    continue;
+                }
+                int termDistance = StringDistance.levenshtein(normalized, terms[term], distance);
+                if (termDistance > distance) {
+                    continue;
+                }
+                for (int row : termRows[term]) {
+                    Match current = best.get(row);
+                    if (current == null || termDistance < current.distance
+                            || (termDistance == current.distance && current.nGram && !nGram)) {
+                        best.put(row, new Match(row, termDistance, nGram));
+                    }
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(best.values());
+        matches.sort(Comparator.comparingInt(Match::getDistance)
+                .thenComparing(Match::isNGram)
+                .thenComparingInt(Match::getRow));
+        return matches;
+    }
+
+    /**
+     * @param query The search term.
+     * @return True if the query has more words than the longest indexed n-gram, so it cannot be looked up.
+     */
+    public boolean exceedsNGramLength(String query) {
+        return wordCount(normalize(query)) > maxNGram;
+    }
+
+    /**
+     * @return The snapshot this index was built from.
+     */
+    public CatalogSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return The number of distinct delete variants stored.
+     */
+    public int deleteCount() {
+        return deletes.size();
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase().replaceAll("\\s+", " ");
+    }
+
+    private static int wordCount(String normalized) {
+        if (normalized.isEmpty()) {
+            return 0;
+        }
+        int count = 1;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (normalized.charAt(i) == ' ') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String prefix(String value, int prefixLength) {
+        return value.length() > prefixLength ? value.substring(0, prefixLength) : value;
+    }
+
+    // Adds the value and every string obtained by deleting up to 'distance' characters from it
+    private static void collectDeletes(String value, int distance, Set<String> variants) {
+        if (!variants.add(value) || distance == 0) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            collectDeletes(value.substring(0, i) + value.substring(i + 1), distance - 1, variants);
+        }
+    }
+}
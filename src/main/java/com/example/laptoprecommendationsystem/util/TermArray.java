@@ -0,0 +1,68 @@
+package com.example.laptoprecommendationsystem.util;
+
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * A {@link TermDictionary} held in sorted arrays. Indexes that resolve terms on every lookup read them from here
+ * rather than spelling them out of a {@link Dawg} each time.
+ */
+public final class TermArray implements TermDictionary {
+
+    // Package-private so the indexes in this package read them without a call per term
+    final String[] terms;
+    final long[] frequencies;
+
+    private TermArray(String[] terms, long[] frequencies) {
+        this.terms = terms;
+        this.frequencies = frequencies;
+    }
+
+    /**
+     * Builds a dictionary from a map of terms.
+     * @param frequencies The terms with their frequencies.
+     * @return The dictionary.
+     */
+    public static TermArray of(Map<String, Long> frequencies) {
+        String[] terms = new TreeSet<>(frequencies.keySet()).toArray(new String[0]);
+        long[] counts = new long[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            counts[i] = frequencies.get(terms[i]);
+        }
+        return new TermArray(terms, counts);
+    }
+
+    /**
+     * Copies a dictionary into arrays, with one walk over its terms.
+     * @param dictionary The dictionary, e.g. a {@link Dawg}.
+     * @return The copy, or the dictionary itself when it already is one.
+     */
+    public static TermArray copyOf(TermDictionary dictionary) {
+        if (dictionary instanceof TermArray array) {
+            return array;
+        }
+        String[] terms = new String[dictionary.size()];
+        long[] counts = new long[terms.length];
+        int[] next = new int[1];
+        dictionary.forEach((term, frequency) -> {
+            terms[next[0]] = term;
+            counts[next[0]++] = frequency;
+        });
+        return new TermArray(terms, counts);
+    }
+
+    @Override
+    public int size() {
+        return terms.length;
+    }
+
+    @Override
+    public String termAt(int ordinal) {
+        return terms[ordinal];
+    }
+
+    @Override
+    public long frequencyAt(int ordinal) {
+        return frequencies[ordinal];
+    }
+}
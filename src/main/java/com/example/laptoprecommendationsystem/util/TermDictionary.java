@@ -0,0 +1,37 @@
+package com.example.laptoprecommendationsystem.util;
+
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Terms numbered 0 .. {@code size() - 1} in alphabetical order, each with a frequency. Indexes over a dictionary
+ * store these ordinals instead of their own copies of the strings; see {@link TermArray} for the form they read.
+ */
+public interface TermDictionary {
+
+    /**
+     * @return The number of terms.
+     */
+    int size();
+
+    /**
+     * @param ordinal The term's position in alphabetical order.
+     * @return The term.
+     */
+    String termAt(int ordinal);
+
+    /**
+     * @param ordinal The term's position in alphabetical order.
+     * @return The term's frequency.
+     */
+    long frequencyAt(int ordinal);
+
+    /**
+     * Visits every term with its frequency, in alphabetical order.
+     * @param action Called once per term.
+     */
+    default void forEach(ObjLongConsumer<String> action) {
+        for (int ordinal = 0; ordinal < size(); ordinal++) {
+            action.accept(termAt(ordinal), frequencyAt(ordinal));
+        }
+    }
+}
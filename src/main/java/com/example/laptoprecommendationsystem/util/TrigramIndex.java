@@ -0,0 +1,143 @@
+package com.example.laptoprecommendationsystem.util;
+
+import java.util.*;
+
+/**
+ * Immutable substring index over the lower-cased terms of a {@link TermDictionary}.
+ * Every trigram (three consecutive characters) has a sorted posting list of the terms containing it. A query is
+ * answered by intersecting the posting lists of its trigrams, shortest first, and verifying only the surviving
+ * terms with {@link String#contains}, instead of scanning every term.
+ *
+ * <p>Postings are stored in compressed sparse row form: the distinct trigrams, packed into longs, are sorted in
+ * {@code trigrams}, and the terms of {@code trigrams[i]} are {@code postings[offsets[i]] .. postings[offsets[i + 1] - 1]}.
+ */
+public final class TrigramIndex {
+
+    // Postings are ordinals into this array, which the other indexes over the same vocabulary share
+    private final String[] terms;
+    private final long[] trigrams;
+    private final int[] offsets;
+    private final int[] postings;
+
+    private TrigramIndex(String[] terms, long[] trigrams, int[] offsets, int[] postings) {
+        this.terms = terms;
+        this.trigrams = trigrams;
+        this.offsets = offsets;
+        this.postings = postings;
+    }
+
+    /**
+     * Builds the index. The terms are read from the dictionary's {@link TermArray} form, which is copied once here
+     * unless the dictionary already is one.
+     * @param dictionary The terms to index, already lower-cased.
+     * @return The index.
+     */
+    public static TrigramIndex build(TermDictionary dictionary) {
+        String[] terms = TermArray.copyOf(dictionary).terms;
+        // Terms are visited in order, so each posting list comes out sorted and a repeat is always the last entry
+        TreeMap<Long, List<Integer>> lists = new TreeMap<>();
+        for (int term = 0; term < terms.length; term++) {
+            String value = terms[term];
+            for (int i = 0; i + 3 <= value.length(); i++) {
+                List<Integer> list = lists.computeIfAbsent(pack(value, i), key -> new ArrayList<>());
+                if (list.isEmpty() || list.get(list.size() - 1) != term) {
+                    list.add(term);
+                }
+            }
+        }
+
+        long[] trigrams = new long[lists.size()];
+        int[] offsets = new int[lists.size() + 1];
+        int[] postings = new int[lists.values().stream().mapToInt(List::size).sum()];
+        int index = 0;
+        int position = 0;
+        for (Map.Entry<Long, List<Integer>> entry : lists.entrySet()) {
+            trigrams[index] = entry.getKey();
+            offsets[index++] = position;
+            for (int term : entry.getValue()) {
+                postings[position++] = term;
+            }
+        }
+        offsets[index] = position;
+        return new TrigramIndex(terms, trigrams, offsets, postings);
+    }
+
+    // Three UTF-16 chars in 48 bits; always non-negative, so the long order matches TreeMap's and binarySearch's
+    private static long pack(String value, int start) {
+        return (long) value.charAt(start) << 32 | (long) value.charAt(start + 1) << 16 | value.charAt(start + 2);
+    }
+
+    /**
+     * Finds the terms containing the query as a substring.
+     * @param query The lower-cased substring.
+     * @return The matching terms in alphabetical order.
+     */
+    public List<String> search(String query) {
+        List<String> result = new ArrayList<>();
+        if (query.length() < 3) {
+            // Too short to have a trigram; the terms are already lower-cased, so this is a plain scan
+            for (String term : terms) {
+                if (term.contains(query)) {
+                    result.add(term);
+                }
+            }
+            return result;
+        }
+
+        // Posting list ranges of the query's trigrams, shortest first
+        int count = query.length() - 2;
+        long[] ranges = new long[count];
+        for (int i = 0; i < count; i++) {
+            int slot = Arrays.binarySearch(trigrams, pack(query, i));
+            if (slot < 0) {
+                return result;
+            }
+            int length = offsets[slot + 1] - offsets[slot];
+            ranges[i] = (long) length << 32 | slot;
+        }
+        Arrays.sort(ranges);
+
+        int first = (int) ranges[0];
+        int[] candidates = Arrays.copyOfRange(postings, offsets[first], offsets[first + 1]);
+        int candidateCount = candidates.length;
+        for (int i = 1; i < count && candidateCount > 0; i++) {
+            int slot = (int) ranges[i];
+            if (slot == (int) ranges[i - 1]) {
+                continue;
+            }
+            candidateCount = intersect(candidates, candidateCount, offsets[slot], offsets[slot + 1]);
+        }
+
+        // Sharing every trigram does not mean the trigrams are adjacent and in order, so verify
+        for (int i = 0; i < candidateCount; i++) {
+            String term = terms[candidates[i]];
+            if (term.contains(query)) {
+                result.add(term);
+            }
+        }
+        return result;
+    }
+
+    // Keeps the candidates that also occur in postings[from, to); both are sorted, so this is a merge
+    private int intersect(int[] candidates, int candidateCount, int from, int to) {
+        int kept = 0;
+        int j = from;
+        for (int i = 0; i < candidateCount && j < to; i++) {
+            int candidate = candidates[i];
+            while (j < to && postings[j] < candidate) {
+                j++;
+            }
+            if (j < to && postings[j] == candidate) {
+                candidates[kept++] = candidate;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * @return The number of indexed terms.
+     */
+    public int size() {
+        return terms.length;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.laptoprecommendationsystem.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded LRU cache whose contents are tied to a data version.
+ * Every lookup and store names the version it was computed against; as soon as a newer version is seen the
+ * whole cache is dropped, and results computed against an older version are never stored.
+ */
+public class VersionedLruCache<K, V> {
+
+    private final int maxEntries;
+    private final LinkedHashMap<K, V> entries;
+    private long version = Long.MIN_VALUE;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public VersionedLruCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > VersionedLruCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Looks up a value computed against the given data version.
+     * @param key The cache key.
+     * @param currentVersion The current data version.
+     * @return The cached value, or null on a miss.
+     */
+    public synchronized V get(K key, long currentVersion) {
+        advance(currentVersion);
+        V value = entries.get(key);
+        if (value != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return value;
+    }
+
+    /**
+     * Stores a value unless the data changed while it was being computed.
+     * @param key The cache key.
+     * @param value The value to cache.
+     * @param computedVersion The data version the value was computed against.
+     */
+    public synchronized void put(K key, V value, long computedVersion) {
+        advance(computedVersion);
+        if (computedVersion == version && maxEntries > 0) {
+            entries.put(key, value);
+        }
+    }
+
+    private void advance(long newVersion) {
+        if (newVersion > version) {
+            if (!entries.isEmpty()) {
+                invalidations++;
+            }
+            entries.clear();
+            version = newVersion;
+        }
+    }
+
+    /**
+     * @return Hit, miss, eviction and invalidation counters plus the current size.
+     */
+    public synchronized Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("evictions", evictions);
+        stats.put("invalidations", invalidations);
+        stats.put("size", (long) entries.size());
+        stats.put("maxEntries", (long) maxEntries);
+        return stats;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.laptoprecommendationsystem.util;
+
+/**
+ * Relative weights of the scoring features for one usage type (e.g. gaming, office).
+ */
+public final class WeightProfile {
+
+    private final double price;
+    private final double memory;
+    private final double storage;
+    private final double graphics;
+    private final double screen;
+    private final double brand;
+
+    /**
+     * @param price Weight of a lower price
+     * @param memory Weight of RAM
+     * @param storage Weight of storage
+     * @param graphics Weight of a discrete graphics card
+     * @param screen Weight of matching the preferred screen size
+     * @param brand Weight of matching the preferred brand
+     */
+    public WeightProfile(double price, double memory, double storage, double graphics, double screen, double brand) {
+        this.price = price;
+        this.memory = memory;
+        this.storage = storage;
+        this.graphics = graphics;
+        this.screen = screen;
+        this.brand = brand;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public double getMemory() {
+        return memory;
+    }
+
+    public double getStorage() {
+        return storage;
+    }
+
+    public double getGraphics() {
+        return graphics;
+    }
+
+    public double getScreen() {
+        return screen;
+    }
+
+    public double getBrand() {
+        return brand;
+    }
+}
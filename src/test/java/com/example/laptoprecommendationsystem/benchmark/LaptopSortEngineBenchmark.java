@@ -0,0 +1,84 @@
+package com.example.laptoprecommendationsystem.benchmark;
+
+import com.example.laptoprecommendationsystem.model.Laptop;
+import com.example.laptoprecommendationsystem.util.CatalogSnapshot;
+import com.example.laptoprecommendationsystem.util.LaptopSortEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link LaptopSortEngine} with a boxed {@code Arrays.sort} over the same rows on sorted, reversed and
+ * random price orders.
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=LaptopSortEngineBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LaptopSortEngineBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"sorted", "reversed", "random"})
+    private String input;
+
+    private CatalogSnapshot snapshot;
+    private List<LaptopSortEngine.SortOrder> byPrice;
+    private List<LaptopSortEngine.SortOrder> byPriceRamBrand;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Laptop> laptops = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Laptop laptop = new Laptop();
+            laptop.setId((long) i);
+            laptop.setBrandName("brand" + random.nextInt(12));
+            laptop.setPrice(price(i, random));
+            laptop.setRamGb(8 << random.nextInt(3));
+            laptop.setStorageGb(256 << random.nextInt(3));
+            laptop.setScreenInches(13.0 + random.nextInt(5));
+            laptops.add(laptop);
+        }
+        snapshot = CatalogSnapshot.of(laptops);
+        byPrice = LaptopSortEngine.parse("price", "asc");
+        byPriceRamBrand = LaptopSortEngine.parse("price,ram:desc,brand", "asc");
+    }
+
+    // Rows are in id order, so the price assigned to each id decides how ordered the input is
+    private double price(int i, Random random) {
+        switch (input) {
+            case "sorted":
+                return 200 + i;
+            case "reversed":
+                return 200 + size - i;
+            default:
+                return 200 + random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public int[] engineByPrice() {
+        return LaptopSortEngine.sortRows(snapshot, byPrice);
+    }
+
+    @Benchmark
+    public int[] engineByPriceRamBrand() {
+        return LaptopSortEngine.sortRows(snapshot, byPriceRamBrand);
+    }
+
+    @Benchmark
+    public Integer[] boxedArraysSortByPrice() {
+        Integer[] rows = new Integer[snapshot.size()];
+        for (int row = 0; row < rows.length; row++) {
+            rows[row] = row;
+        }
+        Arrays.sort(rows, Comparator.comparingDouble(snapshot::priceAt));
+        return rows;
+    }
+}
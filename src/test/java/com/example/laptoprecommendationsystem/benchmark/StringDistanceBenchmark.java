@@ -0,0 +1,107 @@
+package com.example.laptoprecommendationsystem.benchmark;
+
+import com.example.laptoprecommendationsystem.util.StringDistance;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link StringDistance} with the full-matrix DP that {@code EditDistanceService.calculateEditDistance} and
+ * {@code utils.Levenshtein.calculate} used before, on pairs of product-name-like strings of a given length where half
+ * of the pairs are near matches.
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=StringDistanceBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringDistanceBenchmark {
+
+    private static final int PAIRS = 256;
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789 -";
+
+    @Param({"8", "40", "120"})
+    private int length;
+
+    private String[] left;
+    private String[] right;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        left = new String[PAIRS];
+        right = new String[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            left[i] = randomString(random, length);
+            right[i] = i % 2 == 0 ? withTypos(random, left[i]) : randomString(random, length);
+        }
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        return new String(chars);
+    }
+
+    private static String withTypos(Random random, String value) {
+        char[] chars = value.toCharArray();
+        for (int typos = 1 + random.nextInt(2); typos > 0; typos--) {
+            chars[random.nextInt(chars.length)] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        return new String(chars);
+    }
+
+    private int nextPair() {
+        next = (next + 1) & (PAIRS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public int fullMatrix() {
+        int i = nextPair();
+        return matrix(left[i], right[i]);
+    }
+
+    @Benchmark
+    public int kernel() {
+        int i = nextPair();
+        return StringDistance.levenshtein(left[i], right[i]);
+    }
+
+    @Benchmark
+    public int kernelWithinThree() {
+        int i = nextPair();
+        return StringDistance.levenshtein(left[i], right[i], 3);
+    }
+
+    @Benchmark
+    public int optimalStringAlignmentWithinThree() {
+        int i = nextPair();
+        return StringDistance.optimalStringAlignment(left[i], right[i], 3);
+    }
+
+    // The implementation both callers had before the shared kernel
+    private static int matrix(String word1, String word2) {
+        int[][] dp = new int[word1.length() + 1][word2.length() + 1];
+        for (int i = 0; i <= word1.length(); i++) {
+            for (int j = 0; j <= word2.length(); j++) {
+                if (i == 0) {
+                    dp[i][j] = j;
+                } else if (j == 0) {
+                    dp[i][j] = i;
+                } else if (word1.charAt(i - 1) == word2.charAt(j - 1)) {
+                    dp[i][j] = dp[i - 1][j - 1];
+                } else {
+                    dp[i][j] = 1 + Math.min(dp[i - 1][j], Math.min(dp[i][j - 1], dp[i - 1][j - 1]));
+                }
+            }
+        }
+        return dp[word1.length()][word2.length()];
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.laptoprecommendationsystem.benchmark;
+
+import com.example.laptoprecommendationsystem.dto.SuggestionDTO;
+import com.example.laptoprecommendationsystem.util.CompactTrie;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The node-per-character trie that completions used before {@link CompactTrie}, kept as the baseline of
+ * {@link TrieBenchmark}. Every search collects all words below the prefix and sorts them; only the frequency and the
+ * characters the vocabulary needs were added to the original layout.
+ */
+public class Trie {
+
+    // The ASCII characters the vocabulary uses; anything else is skipped on insert and ends a search
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789 &()+-./:;_";
+
+    // Trie Node definition
+    private static class TrieNode {
+        TrieNode[] children = new TrieNode[ALPHABET.length()];
+        boolean isEndOfWord;
+        long frequency;
+    }
+
+    private final TrieNode root = new TrieNode();
+
+    /**
+     * Inserts a word, adding to its frequency if it is already present.
+     * @param word The lower-cased word; characters outside the alphabet are skipped.
+     * @param frequency How often the word occurs.
+     */
+    public void insert(String word, long frequency) {
+        TrieNode currentNode = root;
+        for (char character : word.toCharArray()) {
+            int index = ALPHABET.indexOf(character);
+            if (index < 0) {
+                continue; // Skip invalid characters
+            }
+            if (currentNode.children[index] == null) {
+                currentNode.children[index] = new TrieNode();
+            }
+            currentNode = currentNode.children[index];
+        }
+        currentNode.isEndOfWord = true; // Mark the end of the word
+        currentNode.frequency += frequency;
+    }
+
+    /**
+     * Finds the most frequent words with a prefix.
+     * @param prefix The lower-cased prefix.
+     * @param limit The maximum number of words.
+     * @return The words, most frequent first, then alphabetically.
+     */
+    public List<String> searchByPrefix(String prefix, int limit) {
+        TrieNode current = root;
+        for (char character : prefix.toCharArray()) {
+            int index = ALPHABET.indexOf(character);
+            if (index < 0 || current.children[index] == null) {
+                return new ArrayList<>(); // No words with this prefix
+            }
+            current = current.children[index];
+        }
+        List<SuggestionDTO> words = new ArrayList<>();
+        collectWords(current, new StringBuilder(prefix), 0, words);
+        words.sort(Comparator.comparingLong(SuggestionDTO::getFrequency).reversed()
+                .thenComparing(SuggestionDTO::getTerm));
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, words.size()); i++) {
+            result.add(words.get(i).getTerm());
+        }
+        return result;
+    }
+
+    // Helper function to collect all words from a given node
+    private void collectWords(TrieNode node, StringBuilder prefix, int distance, List<SuggestionDTO> words) {
+        if (node.isEndOfWord) {
+            words.add(new SuggestionDTO(prefix.toString(), distance, node.frequency));
+        }
+        for (int index = 0; index < node.children.length; index++) {
+            if (node.children[index] != null) {
+                prefix.append(ALPHABET.charAt(index));
+                collectWords(node.children[index], prefix, distance, words);
+                prefix.setLength(prefix.length() - 1);
+            }
+        }
+    }
+
+    /**
+     * Finds the most frequent words that start with a prefix within an edit distance of the query by walking the
+     * trie depth-first with a Levenshtein row per path, pruning only paths whose row exceeds the distance.
+     * @param query The lower-cased, possibly misspelled prefix.
+     * @param maxDistance The largest edit distance between the query and a prefix of a result.
+     * @param limit The maximum number of results.
+     * @return The completions by descending frequency, then distance, then alphabetically.
+     */
+    public List<SuggestionDTO> fuzzySearchByPrefix(String query, int maxDistance, int limit) {
+        int[] firstRow = new int[query.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+        List<SuggestionDTO> words = new ArrayList<>();
+        fuzzyCollect(root, new StringBuilder(), query, firstRow, query.length(), maxDistance, words);
+        words.sort(Comparator.comparingLong(SuggestionDTO::getFrequency).reversed()
+                .thenComparingInt(SuggestionDTO::getDistance)
+                .thenComparing(SuggestionDTO::getTerm));
+        return new ArrayList<>(words.subList(0, Math.min(limit, words.size())));
+    }
+
+    // Carries the Levenshtein row along the path and the smallest distance any prefix of the path reached so far
+    private void fuzzyCollect(TrieNode node, StringBuilder path, String query, int[] row, int best, int maxDistance,
+                              List<SuggestionDTO> words) {
+        if (node.isEndOfWord && best <= maxDistance) {
+            words.add(new SuggestionDTO(path.toString(), best, node.frequency));
+        }
+        for (int index = 0; index < node.children.length; index++) {
+            TrieNode child = node.children[index];
+            if (child == null) {
+                continue;
+            }
+            char character = ALPHABET.charAt(index);
+            int[] next = new int[row.length];
+            next[0] = row[0] + 1;
+            int rowMin = next[0];
+            for (int i = 1; i < next.length; i++) {
+                int cost = query.charAt(i - 1) == character ? 0 : 1;
+                next[i] = Math.min(Math.min(next[i - 1] + 1, row[i] + 1), row[i - 1] + cost);
+                rowMin = Math.min(rowMin, next[i]);
+            }
+            path.append(character);
+            if (rowMin <= maxDistance) {
+                fuzzyCollect(child, path, query, next, Math.min(best, next[query.length()]), maxDistance, words);
+            } else if (best <= maxDistance) {
+                // The query can no longer get closer, but a prefix already matched
+                collectWords(child, path, best, words);
+            }
+            path.setLength(path.length() - 1);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.laptoprecommendationsystem.benchmark;
+
+import com.example.laptoprecommendationsystem.dto.SuggestionDTO;
+import com.example.laptoprecommendationsystem.util.CompactTrie;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares a minimal node-per-character {@link Trie} with the array-based {@link CompactTrie}, both built from the
+ * vocabulary files in the working directory with their frequencies. Each setup prints the heap retained by either
+ * structure; the benchmarks time top-10 prefix completion and typo-tolerant completion with prefixes of 1 to 6
+ * characters taken from the vocabulary.
+ * Run from the project root with: {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=TrieBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrieBenchmark {
+
+    private static final int QUERIES = 256;
+
+    private Trie trie;
+    private CompactTrie compactTrie;
+    private String[] prefixes;
+    private String[] typos;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        Map<String, Long> frequencies = new HashMap<>();
+        for (String file : new String[]{"product_name_vocabulary.txt", "word_vocabulary.txt"}) {
+            for (String line : Files.readAllLines(Path.of(file))) {
+                String word = line.trim().toLowerCase();
+                long frequency = 1;
+                int separator = word.lastIndexOf(':');
+                if (separator >= 0 && word.substring(separator + 1).trim().matches("\\d{1,18}")) {
+                    frequency = Long.parseLong(word.substring(separator + 1).trim());
+                    word = word.substring(0, separator).trim();
+                }
+                if (!word.isEmpty()) {
+                    frequencies.merge(word, frequency, Long::sum);
+                }
+            }
+        }
+
+        trie = retained("node-per-character trie", () -> {
+            Trie built = new Trie();
+            frequencies.forEach(built::insert);
+            return built;
+        });
+        compactTrie = retained("compact trie", () -> {
+            CompactTrie.Builder builder = new CompactTrie.Builder(CompactTrie.DEFAULT_CACHED_COMPLETIONS);
+            frequencies.forEach(builder::add);
+            return builder.build();
+        });
+
+        Random random = new Random(42);
+        List<String> words = new ArrayList<>(new TreeSet<>(frequencies.keySet()));
+        prefixes = new String[QUERIES];
+        typos = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String word = words.get(random.nextInt(words.size()));
+            prefixes[i] = word.substring(0, Math.min(word.length(), 1 + random.nextInt(6)));
+            // Drop the second character of longer prefixes to force an edit
+            typos[i] = prefixes[i].length() > 3 ? prefixes[i].charAt(0) + prefixes[i].substring(2) : prefixes[i];
+        }
+    }
+
+    // Builds a structure and prints how much heap stays in use afterwards
+    private static <T> T retained(String name, Supplier<T> build) {
+        long before = usedHeap();
+        T built = build.get();
+        System.out.printf("%n%s retains about %,d bytes%n", name, usedHeap() - before);
+        return built;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private int nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public List<String> trieTopTen() {
+        return trie.searchByPrefix(prefixes[nextQuery()], 10);
+    }
+
+    @Benchmark
+    public List<String> compactTopTen() {
+        return compactTrie.searchByPrefix(prefixes[nextQuery()], 10);
+    }
+
+    @Benchmark
+    public List<SuggestionDTO> trieFuzzyTopTen() {
+        return trie.fuzzySearchByPrefix(typos[nextQuery()], 1, 10);
+    }
+
+    @Benchmark
+    public List<SuggestionDTO> compactFuzzyTopTen() {
+        return compactTrie.fuzzySearchByPrefix(typos[nextQuery()], 1, 10);
+    }
+}
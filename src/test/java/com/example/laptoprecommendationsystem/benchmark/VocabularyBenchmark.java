@@ -0,0 +1,135 @@
+package com.example.laptoprecommendationsystem.benchmark;
+
+import com.example.laptoprecommendationsystem.dto.SuggestionDTO;
+import com.example.laptoprecommendationsystem.util.BkTree;
+import com.example.laptoprecommendationsystem.util.CompactTrie;
+import com.example.laptoprecommendationsystem.util.Dawg;
+import com.example.laptoprecommendationsystem.util.TermArray;
+import com.example.laptoprecommendationsystem.util.TrigramIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares keeping the vocabulary in a {@code HashMap<String, Long>} with keeping it only in a {@link Dawg}, built
+ * from the vocabulary files in the working directory. The setup prints the heap retained by the map, by the
+ * automaton, and by the automaton together with the term array and indexes built over its word ordinals; the
+ * benchmarks time membership and frequency lookups for known and unknown words, and BK-tree suggestions.
+ * Run from the project root with: {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=VocabularyBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VocabularyBenchmark {
+
+    private static final int QUERIES = 256;
+    // Copies measured at once, so the retained size stands out from collector noise
+    private static final int COPIES = 20;
+
+    private Map<String, Long> map;
+    private Dawg dawg;
+    private BkTree suggestionTree;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        Map<String, Long> frequencies = new HashMap<>();
+        for (String file : new String[]{"product_name_vocabulary.txt", "word_vocabulary.txt"}) {
+            for (String line : Files.readAllLines(Path.of(file))) {
+                String word = line.trim().toLowerCase();
+                long frequency = 1;
+                int separator = word.lastIndexOf(':');
+                if (separator >= 0 && word.substring(separator + 1).trim().matches("\\d{1,18}")) {
+                    frequency = Long.parseLong(word.substring(separator + 1).trim());
+                    word = word.substring(0, separator).trim();
+                }
+                if (!word.isEmpty()) {
+                    frequencies.merge(word, frequency, Long::sum);
+                }
+            }
+        }
+
+        map = retained("HashMap vocabulary", () -> {
+            // Fresh strings, as a map loaded from the files would hold
+            Map<String, Long> copy = new HashMap<>();
+            frequencies.forEach((word, frequency) -> copy.put(new String(word), frequency));
+            return copy;
+        });
+        dawg = retained("DAWG vocabulary", () -> Dawg.build(frequencies));
+        retained("DAWG vocabulary with its shared term array and trigram, BK-tree and completion indexes", () -> {
+            Dawg vocabulary = Dawg.build(frequencies);
+            TermArray words = TermArray.copyOf(vocabulary);
+            CompactTrie.Builder completions = new CompactTrie.Builder(CompactTrie.DEFAULT_CACHED_COMPLETIONS);
+            words.forEach(completions::add);
+            return List.of(vocabulary, TrigramIndex.build(words), BkTree.of(words), completions.build());
+        });
+        suggestionTree = BkTree.of(TermArray.copyOf(dawg));
+
+        Random random = new Random(42);
+        List<String> words = new ArrayList<>(new TreeSet<>(frequencies.keySet()));
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String word = words.get(random.nextInt(words.size()));
+            // Every other query drops a character, so half of the lookups miss
+            queries[i] = i % 2 == 0 || word.length() < 2 ? word : word.substring(1);
+        }
+    }
+
+    // Builds several copies of a structure and prints how much heap each one keeps in use
+    private static <T> T retained(String name, Supplier<T> build) {
+        List<T> copies = new ArrayList<>(COPIES);
+        long before = usedHeap();
+        for (int i = 0; i < COPIES; i++) {
+            copies.add(build.get());
+        }
+        System.out.printf("%n%s retains about %,d bytes%n", name, (usedHeap() - before) / COPIES);
+        return copies.get(0);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private String nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return queries[next];
+    }
+
+    @Benchmark
+    public boolean mapContains() {
+        return map.containsKey(nextQuery());
+    }
+
+    @Benchmark
+    public boolean dawgContains() {
+        return dawg.contains(nextQuery());
+    }
+
+    @Benchmark
+    public long mapFrequency() {
+        return map.getOrDefault(nextQuery(), 0L);
+    }
+
+    @Benchmark
+    public long dawgFrequency() {
+        return dawg.frequency(nextQuery());
+    }
+
+    @Benchmark
+    public List<SuggestionDTO> suggestions() {
+        return suggestionTree.search(nextQuery(), 1, 5);
+    }
+}
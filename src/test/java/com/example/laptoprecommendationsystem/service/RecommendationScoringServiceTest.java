@@ -0,0 +1,81 @@
+package com.example.laptoprecommendationsystem.service;
+
+import com.example.laptoprecommendationsystem.dto.ScoredLaptopDTO;
+import com.example.laptoprecommendationsystem.model.Laptop;
+import com.example.laptoprecommendationsystem.model.UserPreferences;
+import com.example.laptoprecommendationsystem.util.CatalogSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecommendationScoringServiceTest {
+
+    @Test
+    void topKMatchesAFullSortOfTheScores() {
+        RecommendationScoringService service = service(catalog(500));
+
+        for (String usageType : new String[]{null, "gaming", "student"}) {
+            UserPreferences preferences = new UserPreferences();
+            preferences.setUsageType(usageType);
+            preferences.setBudgetMin(500.0);
+            preferences.setBudgetMax(2500.0);
+            preferences.setBrand("dell");
+            preferences.setMemory("16GB");
+
+            // With k at least the catalog size every laptop in the budget is scored and kept
+            List<ScoredLaptopDTO> all = new ArrayList<>(service.getTopRecommendations(preferences, 1000));
+            assertEquals(all.size(), all.stream().map(scored -> scored.getLaptop().getId()).distinct().count());
+            assertTrue(all.stream().allMatch(scored -> scored.getLaptop().getPrice() >= 500
+                    && scored.getLaptop().getPrice() <= 2500));
+            all.sort(Comparator.comparingDouble(ScoredLaptopDTO::getScore).reversed());
+
+            for (int k : new int[]{1, 7, 50, all.size()}) {
+                List<ScoredLaptopDTO> top = service.getTopRecommendations(preferences, k);
+                assertEquals(k, top.size(), usageType + " k=" + k);
+                for (int i = 0; i < k; i++) {
+                    // Tied laptops may come in either order, so compare scores rather than laptops
+                    assertEquals(all.get(i).getScore(), top.get(i).getScore(), usageType + " k=" + k + " at " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void returnsNothingForAnEmptyCatalogOrNonPositiveK() {
+        assertTrue(service(catalog(0)).getTopRecommendations(new UserPreferences(), 5).isEmpty());
+        assertTrue(service(catalog(20)).getTopRecommendations(new UserPreferences(), 0).isEmpty());
+        assertEquals(20, service(catalog(20)).getTopRecommendations(new UserPreferences(), 50).size());
+    }
+
+    private static RecommendationScoringService service(CatalogSnapshot snapshot) {
+        CatalogService catalogService = mock(CatalogService.class);
+        when(catalogService.getSnapshot()).thenReturn(snapshot);
+        RecommendationScoringService service = new RecommendationScoringService();
+        ReflectionTestUtils.setField(service, "catalogService", catalogService);
+        return service;
+    }
+
+    private static CatalogSnapshot catalog(int size) {
+        Random random = new Random(11);
+        String[] brands = {"Dell", "HP", "Lenovo", "Asus"};
+        List<Laptop> laptops = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Laptop laptop = new Laptop();
+            laptop.setId((long) i);
+            laptop.setBrandName(brands[random.nextInt(brands.length)]);
+            // Few distinct values, so many laptops tie
+            laptop.setPrice(250 * (1 + random.nextInt(12)));
+            laptop.setRamGb(8 << random.nextInt(3));
+            laptop.setStorageGb(256 << random.nextInt(3));
+            laptop.setScreenInches(13.0 + random.nextInt(4));
+            laptop.setGraphics(random.nextBoolean() ? "NVIDIA GeForce RTX 4060" : "Intel Iris Xe");
+            laptops.add(laptop);
+        }
+        return CatalogSnapshot.of(laptops);
+    }
+}
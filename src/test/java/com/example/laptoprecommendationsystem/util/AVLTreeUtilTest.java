@@ -0,0 +1,73 @@
+package com.example.laptoprecommendationsystem.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AVLTreeUtilTest {
+
+    @Test
+    void liveCountsReorderCompletionsWithoutChangingEarlierVersions() {
+        AVLTreeUtil tree = AVLTreeUtil.of(Map.of("hp elitebook", 5, "hp envy", 3, "hp pavilion", 1), Map.of(), 2);
+        AVLTreeUtil updated = tree.withLiveCount("hp pavilion", 3).withLiveCount("hp envy", 1);
+
+        assertEquals(List.of("hp elitebook: 5", "hp envy: 3"), tree.getTopCompletions("hp", 2));
+        assertEquals(List.of("hp pavilion: 7", "hp elitebook: 5", "hp envy: 5"), updated.getTopCompletions("hp", 10));
+        assertEquals(List.of("hp pavilion: 4"), updated.withLiveCountsScaled(0.5).getTopCompletions("hp p", 5));
+        // Decay applied when reading ranks like scaled counts, without copying the tree
+        assertEquals(List.of("hp elitebook: 5", "hp envy: 4", "hp pavilion: 4"), updated.getTopCompletions("hp", 10, 0.5));
+
+        // Searches for words outside the vocabulary never become completions
+        assertSame(updated, updated.withLiveCount("hp omen", 1));
+        assertEquals(3, updated.size());
+        assertTrue(AVLTreeUtil.of(Map.of("hp envy", 3), Map.of("hp omen", 9.0), 1).getTopCompletions("hp o", 5).isEmpty());
+    }
+
+    @Test
+    void matchesABruteForceRankingAfterRandomUpdates() {
+        Random random = new Random(11);
+        Map<String, Integer> weights = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            weights.put(randomWord(random), random.nextInt(100));
+        }
+        AVLTreeUtil tree = AVLTreeUtil.of(weights, Map.of(), 1);
+        Map<String, Double> live = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            String word = randomWord(random);
+            tree = tree.withLiveCount(word, 10);
+            if (weights.containsKey(word)) {
+                live.merge(word, 10.0, Double::sum);
+            }
+        }
+
+        Set<String> words = weights.keySet();
+        assertEquals(words.size(), tree.size());
+        assertTrue(tree.height() <= 1.45 * (Math.log(words.size() + 2) / Math.log(2)));
+        for (double decay : new double[]{1, 0.3}) {
+            Map<String, Double> scores = new HashMap<>();
+            for (String word : words) {
+                scores.put(word, weights.getOrDefault(word, 0) + decay * live.getOrDefault(word, 0.0));
+            }
+            for (String prefix : List.of("", "a", "ab", "cab", "zz")) {
+                List<String> expected = scores.entrySet().stream()
+                        .filter(entry -> entry.getKey().startsWith(prefix))
+                        .sorted(Comparator.<Map.Entry<String, Double>>comparingDouble(entry -> -entry.getValue())
+                                .thenComparing(Map.Entry::getKey))
+                        .limit(15)
+                        .map(entry -> entry.getKey() + ": " + Math.round(entry.getValue()))
+                        .toList();
+                assertEquals(expected, tree.getTopCompletions(prefix, 15, decay), prefix + " decay=" + decay);
+            }
+        }
+    }
+
+    private static String randomWord(Random random) {
+        char[] chars = new char[1 + random.nextInt(5)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.laptoprecommendationsystem.util;
+
+import com.example.laptoprecommendationsystem.dto.SuggestionDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactTrieTest {
+
+    @Test
+    void matchesABruteForceSearchOverTheSameKeys() {
+        Random random = new Random(5);
+        Map<String, Long> weights = new HashMap<>();
+        Map<String, Set<Long>> postings = new HashMap<>();
+        CompactTrie.Builder builder = new CompactTrie.Builder(3);
+        // Without cached keys the same searches walk whole subtrees
+        CompactTrie.Builder postingsOnly = new CompactTrie.Builder(0);
+        for (int i = 0; i < 1500; i++) {
+            String key = randomKey(random);
+            long weight = 1 + random.nextInt(20);
+            long id = random.nextInt(400);
+            builder.add(key, weight).addPosting(key, id);
+            postingsOnly.add(key, weight).addPosting(key, id);
+            weights.merge(key, weight, Long::sum);
+            postings.computeIfAbsent(key, k -> new HashSet<>()).add(id);
+        }
+        for (CompactTrie trie : List.of(builder.build(), postingsOnly.build())) {
+            assertMatchesBruteForce(trie, weights, postings);
+        }
+    }
+
+    private static void assertMatchesBruteForce(CompactTrie trie, Map<String, Long> weights, Map<String, Set<Long>> postings) {
+        assertEquals(weights.size(), trie.size());
+        Comparator<String> byWeight = Comparator.<String>comparingLong(weights::get).reversed()
+                .thenComparing(Comparator.naturalOrder());
+        for (String prefix : List.of("", "a", "ab", "ba c", "dd", "abcabc", "x")) {
+            List<String> expected = weights.keySet().stream()
+                    .filter(key -> key.startsWith(prefix))
+                    .sorted(byWeight)
+                    .toList();
+            // Limits below, at and above the cached count take different paths
+            for (int limit : new int[]{1, 3, 10, Integer.MAX_VALUE}) {
+                assertEquals(expected.subList(0, Math.min(limit, expected.size())), trie.searchByPrefix(prefix, limit),
+                        prefix + " limit=" + limit);
+            }
+            List<String> iterated = new ArrayList<>();
+            trie.iterateByPrefix(prefix).forEachRemaining(iterated::add);
+            assertEquals(expected, iterated, prefix);
+
+            Set<Long> expectedPostings = new HashSet<>();
+            expected.forEach(key -> expectedPostings.addAll(postings.get(key)));
+            assertEquals(expectedPostings, trie.searchPostingsByPrefix(prefix), prefix);
+        }
+
+        for (String query : List.of("abd", "bca", "cab a", "dcba", "a")) {
+            for (int maxDistance = 0; maxDistance <= 2; maxDistance++) {
+                List<String> expected = new ArrayList<>();
+                Map<String, Integer> distances = new HashMap<>();
+                for (String key : weights.keySet()) {
+                    int distance = prefixDistance(query, key);
+                    if (distance <= maxDistance) {
+                        distances.put(key, distance);
+                        expected.add(key);
+                    }
+                }
+                expected.sort(Comparator.<String>comparingLong(weights::get).reversed()
+                        .thenComparingInt(distances::get)
+                        .thenComparing(Comparator.naturalOrder()));
+                List<SuggestionDTO> found = trie.fuzzySearchByPrefix(query, maxDistance, 25);
+                assertEquals(expected.subList(0, Math.min(25, expected.size())),
+                        found.stream().map(SuggestionDTO::getTerm).toList(), query + " d=" + maxDistance);
+                for (SuggestionDTO suggestion : found) {
+                    assertEquals(distances.get(suggestion.getTerm()), suggestion.getDistance());
+                    assertEquals(weights.get(suggestion.getTerm()), suggestion.getFrequency());
+                }
+            }
+        }
+    }
+
+    @Test
+    void handlesEmptyTriesAndMissingPrefixes() {
+        CompactTrie empty = new CompactTrie.Builder(CompactTrie.DEFAULT_CACHED_COMPLETIONS).build();
+        assertEquals(0, empty.size());
+        assertTrue(empty.searchByPrefix("", 5).isEmpty());
+        assertFalse(empty.iterateByPrefix("").hasNext());
+        assertTrue(empty.searchPostingsByPrefix("a").isEmpty());
+        assertTrue(empty.fuzzySearchByPrefix("a", 1, 5).isEmpty());
+
+        CompactTrie trie = new CompactTrie.Builder(2).add("dell", 2).add("dell xps", 5).build();
+        assertTrue(trie.searchByPrefix("hp", 5).isEmpty());
+        assertEquals(List.of("dell xps", "dell"), trie.searchByPrefix("del", 5));
+        assertTrue(trie.searchByPrefix("dell", 0).isEmpty());
+    }
+
+    // Smallest edit distance between the query and any prefix of the key
+    private static int prefixDistance(String query, String key) {
+        int best = Integer.MAX_VALUE;
+        for (int end = 0; end <= key.length(); end++) {
+            best = Math.min(best, StringDistance.levenshtein(query, key.substring(0, end)));
+        }
+        return best;
+    }
+
+    private static String randomKey(Random random) {
+        char[] chars = new char[1 + random.nextInt(6)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = "abcd ".charAt(random.nextInt(5));
+        }
+        return new String(chars);
+    }
+}
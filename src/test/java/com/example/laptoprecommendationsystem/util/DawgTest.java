@@ -0,0 +1,123 @@
+package com.example.laptoprecommendationsystem.util;
+
+import com.example.laptoprecommendationsystem.dto.SuggestionDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DawgTest {
+
+    @Test
+    void isMinimalAndNumbersEveryWordInSortedOrder() {
+        Random random = new Random(13);
+        for (int round = 0; round < 50; round++) {
+            Map<String, Long> first = randomWords(random);
+            Map<String, Long> second = randomWords(random);
+            Map<String, Long> merged = new HashMap<>(first);
+            second.forEach((word, frequency) -> merged.merge(word, frequency, Long::sum));
+            Dawg dawg = Dawg.union(Dawg.build(first), Dawg.build(second));
+
+            // A minimal automaton has one state per distinct set of suffixes that can follow a prefix
+            Map<String, Set<String>> suffixes = new HashMap<>();
+            for (String word : merged.keySet()) {
+                for (int end = 0; end <= word.length(); end++) {
+                    suffixes.computeIfAbsent(word.substring(0, end), prefix -> new TreeSet<>()).add(word.substring(end));
+                }
+            }
+            assertEquals(new HashSet<>(suffixes.values()).size(), dawg.stateCount());
+
+            List<String> sorted = new ArrayList<>(new TreeSet<>(merged.keySet()));
+            assertEquals(sorted.size(), dawg.size());
+            // The array copy the per-keystroke indexes read must number the words the same way
+            TermArray words = TermArray.copyOf(dawg);
+            assertEquals(sorted.size(), words.size());
+            for (int ordinal = 0; ordinal < sorted.size(); ordinal++) {
+                String word = sorted.get(ordinal);
+                assertTrue(dawg.contains(word), word);
+                assertEquals(ordinal, dawg.ordinal(word));
+                assertEquals(word, dawg.termAt(ordinal));
+                assertEquals(merged.get(word), dawg.frequency(word));
+                assertEquals(merged.get(word), dawg.frequencyAt(ordinal));
+                assertEquals(word, words.termAt(ordinal));
+                assertEquals(merged.get(word), words.frequencyAt(ordinal));
+            }
+            for (int i = 0; i < 50; i++) {
+                String word = randomWord(random);
+                assertEquals(merged.containsKey(word), dawg.contains(word), word);
+            }
+            String prefix = randomWord(random).substring(0, 1);
+            assertEquals(sorted.stream().filter(word -> word.startsWith(prefix)).toList(), dawg.wordsWithPrefix(prefix, Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void readsBackWhatItWrites(@TempDir Path directory) throws IOException {
+        Map<String, Long> words = randomWords(new Random(17));
+        Dawg dawg = Dawg.build(words);
+        Path file = directory.resolve("words.dawg");
+        dawg.write(file);
+        Dawg read = Dawg.read(file);
+
+        assertEquals(dawg.size(), read.size());
+        assertEquals(dawg.stateCount(), read.stateCount());
+        assertEquals(dawg.arcCount(), read.arcCount());
+        Map<String, Long> readWords = new HashMap<>();
+        read.forEach(readWords::put);
+        assertEquals(words, readWords);
+        assertEquals(dawg.search("abc", 2, 20).stream().map(SuggestionDTO::getTerm).toList(),
+                read.search("abc", 2, 20).stream().map(SuggestionDTO::getTerm).toList());
+
+        byte[] content = Files.readAllBytes(file);
+        content[content.length / 2] ^= 1;
+        Files.write(file, content);
+        assertThrows(IOException.class, () -> Dawg.read(file));
+    }
+
+    @Test
+    void rejectsFilesWithAValidChecksumButBadContents(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("words.dawg");
+        Dawg.build(randomWords(new Random(19))).write(file);
+        byte[] original = Files.readAllBytes(file);
+        ByteBuffer header = ByteBuffer.wrap(original);
+        int states = header.getInt(8);
+        int arcs = header.getInt(12);
+        int targets = 20 + (states + 1) * Integer.BYTES + arcs * Character.BYTES;
+
+        // State count, arc count and word count far too large or negative, then an arc that loops back to the start
+        int[][] edits = {{8, Integer.MAX_VALUE}, {8, -1}, {12, arcs + 1}, {16, Integer.MAX_VALUE}, {targets, 0}};
+        for (int[] edit : edits) {
+            ByteBuffer content = ByteBuffer.wrap(original.clone());
+            content.putInt(edit[0], edit[1]);
+            CRC32 crc = new CRC32();
+            crc.update(content.array(), 0, original.length - Long.BYTES);
+            content.putLong(original.length - Long.BYTES, crc.getValue());
+            Files.write(file, content.array());
+            assertThrows(IOException.class, () -> Dawg.read(file), "offset " + edit[0]);
+        }
+    }
+
+    private static Map<String, Long> randomWords(Random random) {
+        Map<String, Long> words = new HashMap<>();
+        int count = random.nextInt(60);
+        for (int i = 0; i < count; i++) {
+            words.merge(randomWord(random), 1L + random.nextInt(9), Long::sum);
+        }
+        return words;
+    }
+
+    private static String randomWord(Random random) {
+        char[] chars = new char[1 + random.nextInt(6)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(chars);
+    }
+}
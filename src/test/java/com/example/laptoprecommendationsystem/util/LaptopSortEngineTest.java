@@ -0,0 +1,78 @@
+package com.example.laptoprecommendationsystem.util;
+
+import com.example.laptoprecommendationsystem.model.Laptop;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LaptopSortEngineTest {
+
+    @Test
+    void sortsSortedReversedAndRandomInputByPrice() {
+        for (int size : new int[]{0, 1, 15, 1000, LaptopSortEngine.PARALLEL_THRESHOLD * 3}) {
+            for (String input : new String[]{"sorted", "reversed", "random", "duplicates"}) {
+                CatalogSnapshot snapshot = snapshot(size, input);
+                int[] rows = LaptopSortEngine.sortRows(snapshot, LaptopSortEngine.parse("price", "asc"));
+                assertSorted(snapshot, rows, Comparator.comparingDouble(snapshot::priceAt), size + " " + input);
+            }
+        }
+    }
+
+    @Test
+    void sortsByMultipleKeysAndBreaksTiesById() {
+        CatalogSnapshot snapshot = snapshot(5000, "duplicates");
+        int[] rows = LaptopSortEngine.sortRows(snapshot, LaptopSortEngine.parse("price:desc,ram,brand", "asc"));
+
+        Comparator<Integer> expected = Comparator.<Integer>comparingDouble(snapshot::priceAt).reversed()
+                .thenComparingInt(snapshot::ramGbAt)
+                .thenComparing(row -> snapshot.brandName(snapshot.brandIdAt(row)))
+                .thenComparingLong(snapshot::idAt);
+        assertSorted(snapshot, rows, expected, "multi-key");
+        for (int i = 1; i < rows.length; i++) {
+            assertTrue(expected.compare(rows[i - 1], rows[i]) < 0, "ties must be broken by id");
+        }
+    }
+
+    @Test
+    void rejectsUnknownSortKeys() {
+        assertThrows(IllegalArgumentException.class, () -> LaptopSortEngine.parse("weight", "asc"));
+    }
+
+    private static void assertSorted(CatalogSnapshot snapshot, int[] rows, Comparator<Integer> comparator, String message) {
+        assertEquals(snapshot.size(), rows.length, message);
+        assertEquals(snapshot.size(), Arrays.stream(rows).distinct().count(), message);
+        for (int i = 1; i < rows.length; i++) {
+            assertTrue(comparator.compare(rows[i - 1], rows[i]) <= 0, message + " at " + i);
+        }
+    }
+
+    private static CatalogSnapshot snapshot(int size, String input) {
+        Random random = new Random(7);
+        List<Laptop> laptops = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Laptop laptop = new Laptop();
+            laptop.setId((long) i);
+            laptop.setBrandName("brand" + random.nextInt(5));
+            laptop.setRamGb(8 << random.nextInt(3));
+            laptop.setStorageGb(512);
+            laptop.setScreenInches(14.0);
+            switch (input) {
+                case "sorted":
+                    laptop.setPrice(i);
+                    break;
+                case "reversed":
+                    laptop.setPrice(size - i);
+                    break;
+                case "duplicates":
+                    laptop.setPrice(random.nextInt(10) * 100);
+                    break;
+                default:
+                    laptop.setPrice(random.nextDouble() * 3000);
+            }
+            laptops.add(laptop);
+        }
+        return CatalogSnapshot.of(laptops);
+    }
+}
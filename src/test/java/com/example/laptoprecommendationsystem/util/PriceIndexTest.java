@@ -0,0 +1,89 @@
+package com.example.laptoprecommendationsystem.util;
+
+import com.example.laptoprecommendationsystem.dto.CursorPageDTO;
+import com.example.laptoprecommendationsystem.model.Laptop;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceIndexTest {
+
+    @Test
+    void pagesByOffsetAndCursorVisitEveryLaptopOnceInPriceOrder() {
+        Random random = new Random(3);
+        List<Laptop> laptops = new ArrayList<>();
+        for (long id = 1; id <= 53; id++) {
+            // Few distinct prices, so ties are broken by id
+            laptops.add(laptop(id, 100 * random.nextInt(8)));
+        }
+        PriceIndex index = new PriceIndex(laptops);
+        Comparator<Laptop> byPrice = Comparator.comparingDouble(Laptop::getPrice).thenComparing(Laptop::getId);
+
+        for (boolean ascending : new boolean[]{true, false}) {
+            List<Long> expected = laptops.stream()
+                    .sorted(ascending ? byPrice : byPrice.reversed())
+                    .map(Laptop::getId)
+                    .toList();
+
+            List<Long> byOffset = new ArrayList<>();
+            for (int page = 0; page < 6; page++) {
+                CursorPageDTO<Laptop> result = index.page(ascending, page * 10L, 10);
+                result.getItems().forEach(laptop -> byOffset.add(laptop.getId()));
+                assertEquals(page < 5, result.getNextCursor() != null);
+            }
+            assertEquals(expected, byOffset);
+
+            List<Long> byCursor = new ArrayList<>();
+            CursorPageDTO<Laptop> result = index.page(ascending, 0, 7);
+            while (true) {
+                result.getItems().forEach(laptop -> byCursor.add(laptop.getId()));
+                if (result.getNextCursor() == null) {
+                    break;
+                }
+                result = index.after(ascending, PriceCursor.decode(result.getNextCursor()), 7);
+            }
+            assertEquals(expected, byCursor);
+        }
+    }
+
+    @Test
+    void movesALaptopWhenItsPriceChangesAndForgetsItWhenRemoved() {
+        PriceIndex index = new PriceIndex(List.of(laptop(1, 500), laptop(2, 700), laptop(3, 900)));
+
+        index.put(laptop(1, 800));
+        index.put(laptop(2, 700));
+        assertEquals(List.of(2L, 1L, 3L), ids(index.page(true, 0, 10)));
+        assertEquals(3, index.size());
+
+        index.remove(2L);
+        assertEquals(List.of(3L, 1L), ids(index.page(false, 0, 10)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void handlesEmptyIndexesAndRejectsNonPositivePageSizes() {
+        PriceIndex empty = new PriceIndex(List.of());
+        CursorPageDTO<Laptop> page = empty.page(true, 0, 5);
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+        assertTrue(empty.after(false, new PriceCursor(100, 1), 5).getItems().isEmpty());
+
+        PriceIndex index = new PriceIndex(List.of(laptop(1, 500)));
+        assertTrue(index.page(true, 1, 5).getItems().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.page(true, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> index.after(true, new PriceCursor(0, 0), -1));
+    }
+
+    private static List<Long> ids(CursorPageDTO<Laptop> page) {
+        return page.getItems().stream().map(Laptop::getId).toList();
+    }
+
+    private static Laptop laptop(long id, double price) {
+        Laptop laptop = new Laptop();
+        laptop.setId(id);
+        laptop.setPrice(price);
+        return laptop;
+    }
+}
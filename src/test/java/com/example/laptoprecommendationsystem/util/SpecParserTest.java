@@ -0,0 +1,42 @@
+package com.example.laptoprecommendationsystem.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecParserTest {
+
+    @Test
+    void parsesSizesWithTheirUnitsOnly() {
+        assertEquals(16, SpecParser.parseMemory("16GB DDR5  2x8GB  4800MT/s; up to 32GB"));
+        assertEquals(32, SpecParser.parseMemory("32 GB: LPDDR5X  7467 MT/s"));
+        assertEquals(0, SpecParser.parseMemory("Dual-SSD RAID"));
+        assertEquals(1024, SpecParser.parseStorage("1TB M.2 NVMe PCIe 3.0 SSD"));
+        assertEquals(256, SpecParser.parseStorage("128 GB SSD + 128 GB Flash"));
+        assertEquals(0, SpecParser.parseStorage("PCIe Gen 3.0 x4 SSD"));
+    }
+
+    @Test
+    void parsesScreenSizeAndResolution() {
+        assertEquals(15.6, SpecParser.parseScreenInches("15.6-in. display Full HD (1920X1080)"));
+        assertEquals(17.3, SpecParser.parseScreenInches("17.3\" WQHD (2560x1440) 16:9 240Hz"));
+        assertEquals(14.0, SpecParser.parseScreenInches(" 14 WUXGA "));
+        assertEquals(0.0, SpecParser.parseScreenInches("16:10 WQXGA+ OLED display"));
+        assertArrayEquals(new int[]{1920, 1080}, SpecParser.parseResolution("15.6-in. display Full HD (1920X1080)"));
+        assertArrayEquals(new int[]{1920, 1200}, SpecParser.parseResolution(" 14 WUXGA "));
+        assertArrayEquals(new int[]{2880, 1800}, SpecParser.parseResolution("Up to 14.5\" 2.8K OLED"));
+        assertNull(SpecParser.parseResolution("16\" NanoEdge"));
+    }
+
+    @Test
+    void parsesCpuFamilyAndCores() {
+        assertEquals("Intel Core i9", SpecParser.parseCpuFamily("13th Gen Intel CoreTM i9-13900HX"));
+        assertEquals("Intel Core Ultra 5", SpecParser.parseCpuFamily(" IntelÂ® Coreâ\u0084¢ Ultra 5 125U "));
+        assertEquals("AMD Ryzen AI 9", SpecParser.parseCpuFamily("AMD RyzenTMAI 9 HX 370"));
+        assertEquals("Qualcomm Snapdragon X Elite", SpecParser.parseCpuFamily("Qualcomm Snapdragon X Elite"));
+        assertNull(SpecParser.parseCpuFamily("NVIDIA GeForce RTX 4060"));
+        assertEquals(10, SpecParser.parseCpuCores("Intel Core i5-1335U, Deca-core 1.30 GHz"));
+        assertEquals(12, SpecParser.parseCpuCores("Dodeca-core"));
+        assertNull(SpecParser.parseCpuCores("Intel Core i7-1255U"));
+    }
+}
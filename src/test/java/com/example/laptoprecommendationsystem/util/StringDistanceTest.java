@@ -0,0 +1,79 @@
+package com.example.laptoprecommendationsystem.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringDistanceTest {
+
+    @Test
+    void matchesTheFullMatrixOnRandomStrings() {
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            // Short strings over a small alphabet have many near matches; long ones exercise the banded path
+            int maxLength = i % 10 == 0 ? 150 : 12;
+            String a = randomString(random, maxLength, i % 3 == 0 ? "ab" : "abcdeé");
+            String b = random.nextBoolean() ? mutate(random, a) : randomString(random, maxLength, "abcdeé");
+            int expected = matrix(a, b, false);
+            int expectedOsa = matrix(a, b, true);
+            assertEquals(expected, StringDistance.levenshtein(a, b), a + " / " + b);
+            for (int k = 0; k <= 4; k++) {
+                assertEquals(Math.min(expected, k + 1), StringDistance.levenshtein(a, b, k), a + " / " + b + " k=" + k);
+                assertEquals(Math.min(expectedOsa, k + 1), StringDistance.optimalStringAlignment(a, b, k), a + " / " + b + " k=" + k);
+            }
+        }
+    }
+
+    @Test
+    void countsATranspositionOnceOnlyWithOptimalStringAlignment() {
+        assertEquals(2, StringDistance.levenshtein("elitebook", "eliteboko", 3));
+        assertEquals(1, StringDistance.optimalStringAlignment("elitebook", "eliteboko", 3));
+        assertEquals(3, StringDistance.optimalStringAlignment("ca", "abc", 5));
+    }
+
+    private static String randomString(Random random, int maxLength, String alphabet) {
+        char[] chars = new char[random.nextInt(maxLength + 1)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        return new String(chars);
+    }
+
+    private static String mutate(Random random, String value) {
+        StringBuilder result = new StringBuilder(value);
+        for (int edits = random.nextInt(4); edits > 0 && result.length() > 1; edits--) {
+            int position = random.nextInt(result.length() - 1);
+            switch (random.nextInt(4)) {
+                case 0 -> result.deleteCharAt(position);
+                case 1 -> result.insert(position, 'x');
+                case 2 -> result.setCharAt(position, 'y');
+                default -> {
+                    char c = result.charAt(position);
+                    result.setCharAt(position, result.charAt(position + 1));
+                    result.setCharAt(position + 1, c);
+                }
+            }
+        }
+        return result.toString();
+    }
+
+    private static int matrix(String a, String b, boolean transpositions) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    d[i][j] = i + j;
+                    continue;
+                }
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(d[i - 1][j - 1] + cost, Math.min(d[i - 1][j], d[i][j - 1]) + 1);
+                if (transpositions && i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}